@@ -0,0 +1,106 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.tutorial.bench.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class benchmarks the evaluation of the heuristics of the ASP planner. The nodes evaluated
+ * are the states of a random walk from the initial state of the fixture, each node being the
+ * parent of the next one, so that the incremental heuristics are measured as they are used by the
+ * search.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeuristicBenchmark {
+
+    /**
+     * The number of nodes of the random walk.
+     */
+    private static final int WALK = 4096;
+
+    /**
+     * The fixture searched.
+     */
+    @Param({"blocksworld/p01", "logistics/p01", "depot/p01"})
+    public String fixture;
+
+    /**
+     * The heuristic evaluated.
+     */
+    @Param({"ff", "add", "iff", "iadd", "lm"})
+    public String heuristicName;
+
+    /**
+     * The encoded problem.
+     */
+    private CodedProblem problem;
+
+    /**
+     * The nodes of the random walk.
+     */
+    private List<Node> walk;
+
+    /**
+     * The heuristic evaluated, created for each iteration so that its caches start empty.
+     */
+    private Heuristic heuristic;
+
+    /**
+     * The index of the next node to evaluate.
+     */
+    private int next;
+
+    /**
+     * Loads the fixture and computes the random walk.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.problem = Fixtures.load(this.fixture);
+        final Zobrist zobrist = new Zobrist(this.problem.getRelevantFacts().size(), Zobrist.DEFAULT_SEED);
+        this.walk = SearchBenchmark.walk(this.problem, new SuccessorGenerator(this.problem, zobrist), WALK);
+    }
+
+    /**
+     * Creates a new heuristic for each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void setUpHeuristic() {
+        this.heuristic = ASP.createHeuristic(this.heuristicName, this.problem);
+        this.next = 0;
+    }
+
+    /**
+     * Evaluates the next node of the random walk.
+     *
+     * @return the heuristic value of the node.
+     */
+    @Benchmark
+    public int estimate() {
+        final Node node = this.walk.get(this.next);
+        this.next = (this.next + 1) % WALK;
+        return this.heuristic.estimate(node, this.problem.getGoal());
+    }
+}
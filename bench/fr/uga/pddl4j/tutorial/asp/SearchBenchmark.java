@@ -0,0 +1,162 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.tutorial.bench.Fixtures;
+import fr.uga.pddl4j.util.BitState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class benchmarks the hot paths of the ASP planner: the expansion of a node and the insertion
+ * and the lookup of the nodes in the closed list. The nodes used are the states of a random walk
+ * from the initial state of the fixture.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+    /**
+     * The number of nodes of the random walk.
+     */
+    private static final int WALK = 4096;
+
+    /**
+     * The seed of the random walk.
+     */
+    private static final long SEED = 42L;
+
+    /**
+     * The fixture searched.
+     */
+    @Param({"blocksworld/p01", "logistics/p01", "depot/p01"})
+    public String fixture;
+
+    /**
+     * The encoded problem.
+     */
+    private CodedProblem problem;
+
+    /**
+     * The generator of the successors.
+     */
+    private SuccessorGenerator generator;
+
+    /**
+     * The nodes of the random walk.
+     */
+    private List<Node> walk;
+
+    /**
+     * The closed list filled with the nodes of the random walk.
+     */
+    private Set<Node> close;
+
+    /**
+     * The index of the next node to expand or evaluate.
+     */
+    private int next;
+
+    /**
+     * Loads the fixture and computes the random walk.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.problem = Fixtures.load(this.fixture);
+        final Zobrist zobrist = new Zobrist(this.problem.getRelevantFacts().size(), Zobrist.DEFAULT_SEED);
+        this.generator = new SuccessorGenerator(this.problem, zobrist);
+        this.walk = walk(this.problem, this.generator, WALK);
+        this.close = new HashSet<>(this.walk);
+        this.next = 0;
+    }
+
+    /**
+     * Expands the next node of the random walk.
+     *
+     * @return the children of the node.
+     */
+    @Benchmark
+    public List<Node> expand() {
+        final Node node = this.walk.get(this.next);
+        this.next = (this.next + 1) % WALK;
+        return this.generator.expand(node, n -> false);
+    }
+
+    /**
+     * Inserts the nodes of the random walk in an empty closed list.
+     *
+     * @return the closed list.
+     */
+    @Benchmark
+    @OperationsPerInvocation(WALK)
+    public Set<Node> closedInsert() {
+        final Set<Node> set = new HashSet<>();
+        for (Node node : this.walk) {
+            set.add(node);
+        }
+        return set;
+    }
+
+    /**
+     * Looks up the nodes of the random walk in the closed list.
+     *
+     * @param blackhole the sink of the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(WALK)
+    public void closedLookup(final Blackhole blackhole) {
+        for (Node node : this.walk) {
+            blackhole.consume(this.close.contains(node));
+        }
+    }
+
+    /**
+     * Computes a random walk from the initial state of a problem. Each node of the walk is a child
+     * of the previous one, except when the walk reaches a dead end and restarts from the initial
+     * state.
+     *
+     * @param problem   the problem.
+     * @param generator the generator of the successors.
+     * @param length    the number of nodes of the walk.
+     * @return the nodes of the walk.
+     */
+    static List<Node> walk(final CodedProblem problem, final SuccessorGenerator generator, final int length) {
+        final Zobrist zobrist = new Zobrist(problem.getRelevantFacts().size(), Zobrist.DEFAULT_SEED);
+        final Node root = new Node(new BitState(problem.getInit()), null, -1, 0, 0);
+        root.setFingerprint(zobrist.hash(root));
+        final Random random = new Random(SEED);
+        final List<Node> walk = new ArrayList<>(length);
+        Node current = root;
+        while (walk.size() < length) {
+            walk.add(current);
+            final List<Node> children = generator.expand(current, n -> false);
+            current = children.isEmpty() ? root : children.get(random.nextInt(children.size()));
+        }
+        return walk;
+    }
+}
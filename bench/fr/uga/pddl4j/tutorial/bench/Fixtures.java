@@ -0,0 +1,55 @@
+package fr.uga.pddl4j.tutorial.bench;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.parser.ErrorManager;
+import fr.uga.pddl4j.planners.ProblemFactory;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * This class loads the planning problems of the directory <code>pddl</code> used as fixtures by the
+ * benchmarks. A fixture is named by its domain directory and its problem file without extension,
+ * for instance <code>logistics/p01</code>.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+public final class Fixtures {
+
+    /**
+     * The directory of the benchmarks, relative to the root of the repository.
+     */
+    public static final String DIRECTORY = "pddl";
+
+    /**
+     * Creates a new fixture loader. This class only has static methods.
+     */
+    private Fixtures() {
+    }
+
+    /**
+     * Parses and encodes a fixture.
+     *
+     * @param name the name of the fixture, for instance <code>logistics/p01</code>.
+     * @return the encoded problem.
+     * @throws IllegalStateException if the fixture cannot be read or parsed.
+     */
+    public static CodedProblem load(final String name) {
+        final String[] parts = name.split("/");
+        final File domain = new File(DIRECTORY, parts[0] + File.separator + "domain.pddl");
+        final File problem = new File(DIRECTORY, parts[0] + File.separator + parts[1] + ".pddl");
+        final ProblemFactory factory = ProblemFactory.getInstance();
+        final ErrorManager errorManager;
+        try {
+            errorManager = factory.parse(domain, problem);
+        } catch (IOException e) {
+            throw new IllegalStateException("cannot read the fixture " + name, e);
+        }
+        if (!errorManager.isEmpty()) {
+            errorManager.printAll();
+            throw new IllegalStateException("cannot parse the fixture " + name);
+        }
+        return factory.encode();
+    }
+}
@@ -0,0 +1,153 @@
+package fr.uga.pddl4j.tutorial.satplanner;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.tutorial.bench.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class benchmarks the SAT encoding of the SAT planner: the encoding of one more step, the
+ * pairing and unpairing of the variables and the loading of the clauses into SAT4J.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SATEncodingBenchmark {
+
+    /**
+     * The number of variables paired and unpaired by invocation.
+     */
+    private static final int VARIABLES = 1024;
+
+    /**
+     * The fixture encoded.
+     */
+    @Param({"blocksworld/p01", "logistics/p01", "depot/p01"})
+    public String fixture;
+
+    /**
+     * The step encoded by the benchmark of the encoding.
+     */
+    @Param({"1", "8"})
+    public int step;
+
+    /**
+     * The encoded problem.
+     */
+    private CodedProblem problem;
+
+    /**
+     * The encoder of the benchmark of the encoding, encoded up to the step.
+     */
+    private SATEncoding encoding;
+
+    /**
+     * The clauses loaded into SAT4J.
+     */
+    private List<int[]> clauses;
+
+    /**
+     * The variables to unpair.
+     */
+    private int[] variables;
+
+    /**
+     * Loads the fixture and encodes its clauses up to the step.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.problem = Fixtures.load(this.fixture);
+        this.clauses = new SATEncoding(this.problem, this.step).next();
+        this.variables = new int[VARIABLES];
+        for (int i = 0; i < VARIABLES; i++) {
+            this.variables[i] = SATEncoding.pair(i, this.step);
+        }
+    }
+
+    /**
+     * Creates a new encoder before each invocation of the benchmark of the encoding, so that each
+     * invocation encodes the same step.
+     */
+    @Setup(Level.Invocation)
+    public void setUpEncoding() {
+        this.encoding = new SATEncoding(this.problem, this.step);
+    }
+
+    /**
+     * Encodes one more step.
+     *
+     * @return the clauses of the encoding.
+     */
+    @Benchmark
+    public List<int[]> next() {
+        return this.encoding.next();
+    }
+
+    /**
+     * Pairs the facts and the step.
+     *
+     * @param blackhole the sink of the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(VARIABLES)
+    public void pair(final Blackhole blackhole) {
+        for (int i = 0; i < VARIABLES; i++) {
+            blackhole.consume(SATEncoding.pair(i, this.step));
+        }
+    }
+
+    /**
+     * Unpairs the variables.
+     *
+     * @param blackhole the sink of the results.
+     */
+    @Benchmark
+    @OperationsPerInvocation(VARIABLES)
+    public void unpair(final Blackhole blackhole) {
+        for (int variable : this.variables) {
+            blackhole.consume(SATEncoding.unpair(variable));
+        }
+    }
+
+    /**
+     * Loads the clauses into a new solver, as the SAT planner does at each step.
+     *
+     * @return the solver.
+     * @throws ContradictionException if the clauses are trivially unsatisfiable.
+     */
+    @Benchmark
+    public ISolver load() throws ContradictionException {
+        final ISolver solver = SolverFactory.newDefault();
+        solver.newVar(50000);
+        solver.setExpectedNumberOfClauses(100000);
+        for (int[] clause : this.clauses) {
+            solver.addClause(new VecInt(clause));
+        }
+        return solver;
+    }
+}
@@ -0,0 +1,9 @@
+bash compilation.sh
+
+# The JMH jars (jmh-core, jmh-generator-annprocess, jopt-simple and commons-math3) are expected in lib/jmh
+JMH="lib/jmh/*"
+CP="classes:lib/pddl4j-3.8.3.jar:lib/sat4j-sat.jar"
+
+mkdir -p bench-classes
+javac -d bench-classes -cp "$CP:$JMH" -processorpath "$JMH" bench/fr/uga/pddl4j/tutorial/*/*.java
+java -cp "bench-classes:$CP:$JMH" org.openjdk.jmh.Main -rf csv -rff bench.csv "$@"
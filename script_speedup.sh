@@ -0,0 +1,13 @@
+bash compilation.sh
+
+for benchmark in pddl/blocksworld pddl/depot; do
+    for threads in 1 2 4 8 16; do
+        echo "HDA* with $threads threads"
+        for problem in $benchmark/p*.pddl; do
+            filename=`basename $problem`
+            echo "Test for $filename :"
+            java -cp classes:lib/pddl4j-3.8.3.jar:lib/sat4j-sat.jar fr.uga.pddl4j.tutorial.asp.ASP -o $benchmark/domain.pddl -f $problem -t 300 -p $threads -s speedup.csv > /dev/null
+            echo "done"
+        done
+    done
+done
@@ -8,9 +8,10 @@ import fr.uga.pddl4j.planners.Planner;
 import fr.uga.pddl4j.planners.ProblemFactory;
 import fr.uga.pddl4j.planners.statespace.AbstractStateSpacePlanner;
 import fr.uga.pddl4j.planners.statespace.StateSpacePlanner;
+import fr.uga.pddl4j.tutorial.problem.ProblemCache;
+import fr.uga.pddl4j.tutorial.problem.ProblemReduction;
 import fr.uga.pddl4j.util.BitOp;
 import fr.uga.pddl4j.util.BitState;
-import fr.uga.pddl4j.util.CondBitExp;
 import fr.uga.pddl4j.util.MemoryAgent;
 import fr.uga.pddl4j.util.Plan;
 import fr.uga.pddl4j.util.SequentialPlan;
@@ -34,6 +35,21 @@ public final class ASP extends AbstractStateSpacePlanner {
      */
     private final Properties arguments;
 
+    /*
+     * The counters of the search.
+     */
+    private final SearchStatistics searchStatistics;
+
+    /*
+     * The thread running the search or null if no search is running.
+     */
+    private Thread searchThread;
+
+    /*
+     * Whether the search was cancelled.
+     */
+    private boolean cancelled;
+
     /**
      * Creates a new HSP planner with the default parameters.
      *
@@ -42,19 +58,103 @@ public final class ASP extends AbstractStateSpacePlanner {
     public ASP(final Properties arguments) {
         super();
         this.arguments = arguments;
+        this.searchStatistics = new SearchStatistics();
+    }
+
+    /**
+     * Returns the counters of the last search.
+     *
+     * @return the counters of the last search.
+     */
+    public SearchStatistics getSearchStatistics() {
+        return this.searchStatistics;
+    }
+
+    /**
+     * Cancels the search in progress, if any, and the next searches. The thread of the search is
+     * interrupted, so the search stops at its next check of the interruption and returns null.
+     */
+    public synchronized void cancel() {
+        this.cancelled = true;
+        if (this.searchThread != null) {
+            this.searchThread.interrupt();
+        }
     }
 
     /**
      * Solves the planning problem and returns the first solution search found.
      *
      * @param problem the problem to be solved.
-     * @return a solution search or null if it does not exist.
+     * @return a solution search or null if it does not exist or if the search was cancelled.
      */
     @Override
     public Plan search(final CodedProblem problem) {
+        synchronized (this) {
+            if (this.cancelled) {
+                return null;
+            }
+            this.searchThread = Thread.currentThread();
+        }
+        try {
+            // The search runs on the reduced problem and its plan is translated back
+            if ((boolean) this.arguments.get("reduce")) {
+                final ProblemReduction reduction = new ProblemReduction(problem);
+                Planner.getLogger().trace(String.format("%n%s%n", reduction));
+                return reduction.isSolvable() ? reduction.translate(this.solve(reduction.getProblem())) : null;
+            }
+            return this.solve(problem);
+        } finally {
+            synchronized (this) {
+                this.searchThread = null;
+                // The interruption of a cancelled search must not leak to the caller
+                if (this.cancelled) {
+                    Thread.interrupted();
+                }
+            }
+        }
+    }
+
+    /**
+     * Solves the planning problem with the engine requested.
+     *
+     * @param problem the problem to be solved.
+     * @return a solution search or null if it does not exist.
+     */
+    private Plan solve(final CodedProblem problem) {
+
+        // If another engine than A* is requested, the search is delegated to it
+        final String name = (String) arguments.get("engine");
+        if (!"astar".equals(name)) {
+            final AbstractEngine engine = ASP.createEngine(name, problem, this.arguments, this.searchStatistics);
+            final Plan plan = engine.search();
+            this.getStatistics().setMemoryUsedToSearch(engine.getMemoryUsed());
+            return plan;
+        }
+
+        // If several threads are requested, the search is distributed between them
+        final int threads = (int) arguments.get("threads");
+        if (threads > 1) {
+            final double weight = (double) arguments.get(StateSpacePlanner.WEIGHT);
+            final int timeout = ((int) this.arguments.get(Planner.TIMEOUT)) * 1000;
+            final HDAStar hda = new HDAStar(problem, ASP.getHeuristic(arguments), weight, threads, timeout,
+                    (String) arguments.get("pruning"));
+            final Plan plan = hda.search();
+            this.searchStatistics.setEngine("hda");
+            this.searchStatistics.setExpandedNodes(hda.getExpandedNodes());
+            this.searchStatistics.setGeneratedNodes(hda.getGeneratedNodes());
+            this.searchStatistics.setEvaluatedNodes(hda.getEvaluatedNodes());
+            this.getStatistics().setMemoryUsedToSearch(hda.getMemoryUsed());
+            return plan;
+        }
+
+        // If several evaluators or several expansions by batch are requested, the heuristics are
+        // computed by batches, so that the order of the expansions only depends on the batch size
+        if ((int) arguments.get("evaluators") > 1 || (int) arguments.get("batch") > 1) {
+            return this.searchByBatch(problem);
+        }
 
         // First we create an instance of the heuristic to use to guide the search
-        final Heuristic heuristic = HeuristicToolKit.createHeuristic(Heuristic.Type.FAST_FORWARD, problem);
+        final Heuristic heuristic = ASP.createHeuristic(ASP.getHeuristic(arguments), problem);
 
         // We get the initial state from the planning problem
         final BitState init = new BitState(problem.getInit());
@@ -73,63 +173,255 @@ public final class ASP extends AbstractStateSpacePlanner {
         });
 
         // We create the root node of the tree search
-        final Node root = new Node(init, null, -1, 0, heuristic.estimate(init, problem.getGoal()));
+        final Zobrist zobrist = new Zobrist(problem.getRelevantFacts().size(), Zobrist.DEFAULT_SEED);
+        final Node root = new Node(init, null, -1, 0, 0);
+        root.setFingerprint(zobrist.hash(root));
+        final long evaluation = System.nanoTime();
+        root.setHeuristic(heuristic.estimate(root, problem.getGoal()));
+        this.searchStatistics.recordEvaluation(root.getHeuristic(), System.nanoTime() - evaluation);
+        final SuccessorGenerator generator = new SuccessorGenerator(problem, zobrist,
+                ASP.createStubbornSets((String) arguments.get("pruning"), problem));
 
         // We adds the root to the list of pending nodes
         open.add(root);
         Plan plan = null;
 
         final int timeout = ((int) this.arguments.get(Planner.TIMEOUT)) * 1000;
-        long time = 0;
+        final long start = System.currentTimeMillis();
 
         // We start the search
-        while (!open.isEmpty() && plan == null && time < timeout) {
+        while (!open.isEmpty() && plan == null && System.currentTimeMillis() - start < timeout
+                && !Thread.currentThread().isInterrupted()) {
 
             // We pop the first node in the pending list open
             final Node current = open.poll();
             close.add(current);
+            this.searchStatistics.incExpandedNodes();
 
             // If the goal is satisfy in the current node then extract the search and return it
             if (current.satisfy(problem.getGoal())) {
-                return this.extractPlan(current, problem);
+                this.getStatistics().setMemoryUsedToSearch(ASP.estimateMemory(open, close, problem));
+                return ASP.extractPlan(current, problem);
             }
 
-            // Else we try to apply the operators of the problem to the current node
+            // Else we try to apply the operators of the problem to the current node. The effects are
+            // applied in place and only the children that are not already closed are created
             else {
-                for (int i = 0; i < problem.getOperators().size(); i++) {
-                    // We get the its operator of the problem
-                    BitOp a = problem.getOperators().get(i);
-                    // If the operator is applicable in the current node
-                    if (a.isApplicable(current)) {
-                        Node next = new Node(current);
-                        // We apply the effect of the operator
-                        final List<CondBitExp> effects = a.getCondEffects();
-                        for (CondBitExp ce : effects) {
-                            if (current.satisfy(ce.getCondition())) {
-                                next.apply(ce.getEffects());
-                            }
-                        }
-                        // We set the new child node information
-                        final int g = (int) (current.getCost() + 1);
-                        if (!close.contains(next)) {
-                            next.setCost(g);
-                            next.setParent(current);
-                            next.setOperator(i);
-                            next.setHeuristic(heuristic.estimate(next, problem.getGoal()));
-                            open.add(next);
-                        }
-                    }
+                final List<Node> children = generator.expand(current, close::contains);
+                for (Node next : children) {
+                    final long begin = System.nanoTime();
+                    next.setHeuristic(heuristic.estimate(next, problem.getGoal()));
+                    this.searchStatistics.recordEvaluation(next.getHeuristic(), System.nanoTime() - begin);
+                    open.add(next);
                 }
+                this.searchStatistics.setGeneratedNodes(this.searchStatistics.getGeneratedNodes()
+                        + generator.getGenerated());
+                this.searchStatistics.addDuplicates(generator.getGenerated() - children.size());
+                this.searchStatistics.setSizes(open.size(), close.size());
             }
         }
 
         // We compute the memory by the search
-        this.getStatistics().setMemoryUsedToSearch(MemoryAgent.sizeOf(open) + MemoryAgent.sizeOf(close));
+        this.getStatistics().setMemoryUsedToSearch(ASP.estimateMemory(open, close, problem));
 
         // Finally, we return the search computed or null if no search was found
         return plan;
     }
 
+    /**
+     * Solves the planning problem with the weighted A* algorithm but evaluates the heuristic of
+     * the children in parallel. The children of several expansions are collected into a batch,
+     * evaluated by a pool of threads and then inserted in the open list in the order of their
+     * generation, so that the search is deterministic for a given batch size.
+     *
+     * @param problem the problem to be solved.
+     * @return a solution search or null if it does not exist.
+     */
+    private Plan searchByBatch(final CodedProblem problem) {
+        final int expansions = (int) arguments.get("batch");
+        final int evaluators = (int) arguments.get("evaluators");
+        final BitState init = new BitState(problem.getInit());
+        final Zobrist zobrist = new Zobrist(problem.getRelevantFacts().size(), Zobrist.DEFAULT_SEED);
+        final SuccessorGenerator generator = new SuccessorGenerator(problem, zobrist,
+                ASP.createStubbornSets((String) arguments.get("pruning"), problem));
+        final Set<Node> close = new HashSet<>();
+        final double weight = (double) arguments.get(StateSpacePlanner.WEIGHT);
+        final PriorityQueue<Node> open = new PriorityQueue<>(100, new Comparator<Node>() {
+            public int compare(Node n1, Node n2) {
+                double f1 = weight * n1.getHeuristic() + n1.getCost();
+                double f2 = weight * n2.getHeuristic() + n2.getCost();
+                return Double.compare(f1, f2);
+            }
+        });
+        final int timeout = ((int) this.arguments.get(Planner.TIMEOUT)) * 1000;
+        final long begin = System.currentTimeMillis();
+
+        try (BatchEvaluator evaluator = new BatchEvaluator(problem, ASP.getHeuristic(arguments), evaluators)) {
+            final List<Node> batch = new ArrayList<>();
+            final Node root = new Node(init, null, -1, 0, 0);
+            root.setFingerprint(zobrist.hash(root));
+            batch.add(root);
+            this.recordEvaluations(batch, evaluator.evaluate(batch, problem.getGoal()));
+            open.addAll(batch);
+
+            while (!open.isEmpty() && System.currentTimeMillis() - begin < timeout
+                    && !Thread.currentThread().isInterrupted()) {
+                batch.clear();
+                // We expand the best nodes of the open list and collect their children
+                for (int k = 0; k < expansions && !open.isEmpty(); k++) {
+                    final Node current = open.poll();
+                    if (!close.add(current)) {
+                        continue;
+                    }
+                    this.searchStatistics.incExpandedNodes();
+                    if (current.satisfy(problem.getGoal())) {
+                        this.getStatistics().setMemoryUsedToSearch(ASP.estimateMemory(open, close, problem));
+                        return ASP.extractPlan(current, problem);
+                    }
+                    final List<Node> children = generator.expand(current, close::contains);
+                    batch.addAll(children);
+                    this.searchStatistics.setGeneratedNodes(this.searchStatistics.getGeneratedNodes()
+                            + generator.getGenerated());
+                    this.searchStatistics.addDuplicates(generator.getGenerated() - children.size());
+                }
+                // We evaluate the whole batch at once before inserting it into the open list
+                this.recordEvaluations(batch, evaluator.evaluate(batch, problem.getGoal()));
+                open.addAll(batch);
+                this.searchStatistics.setSizes(open.size(), close.size());
+            }
+        }
+        this.getStatistics().setMemoryUsedToSearch(ASP.estimateMemory(open, close, problem));
+        return null;
+    }
+
+    /**
+     * Records the evaluations of the nodes of a batch in the statistics of the search.
+     *
+     * @param batch the nodes evaluated.
+     * @param times the time taken by the evaluation of each node in nanoseconds.
+     */
+    private void recordEvaluations(final List<Node> batch, final long[] times) {
+        for (int i = 0; i < batch.size(); i++) {
+            this.searchStatistics.recordEvaluation(batch.get(i).getHeuristic(), times[i]);
+        }
+    }
+
+    /**
+     * Returns the estimated memory used by the open and closed lists of a search.
+     *
+     * @param open    the open list.
+     * @param close   the closed list.
+     * @param problem the problem to solve.
+     * @return the memory used in bytes.
+     */
+    private static long estimateMemory(final Collection<Node> open, final Collection<Node> close,
+                                       final CodedProblem problem) {
+        final long node = Node.sizeOf(problem.getRelevantFacts().size());
+        return open.size() * (Node.QUEUE_ENTRY + node) + close.size() * (Node.SET_ENTRY + node);
+    }
+
+    /**
+     * Creates the search engine with a specified name.
+     *
+     * @param name       the name of the engine.
+     * @param problem    the problem to solve.
+     * @param arguments  the arguments of the planner.
+     * @param statistics the statistics of the search.
+     * @return the search engine.
+     * @throws IllegalArgumentException if no engine has this name or if the engine cannot use the
+     *      heuristic requested.
+     */
+    static AbstractEngine createEngine(final String name, final CodedProblem problem, final Properties arguments,
+                                       final SearchStatistics statistics) {
+        // These engines rebuild the nodes without their parent, so the landmarks accepted on the path
+        // of a node would be lost and the landmark-count heuristic silently weakened
+        if (("ext".equals(name) || "delta".equals(name)) && "lm".equals(ASP.getHeuristic(arguments))) {
+            throw new IllegalArgumentException("the heuristic lm cannot be used with the engine " + name);
+        }
+        switch (name) {
+            case "gbfs":
+                return new GreedyBestFirstEngine(problem, arguments, statistics);
+            case "lazy":
+                return new LazyGreedyBestFirstEngine(problem, arguments, statistics);
+            case "ehc":
+                return new EnforcedHillClimbingEngine(problem, arguments, statistics);
+            case "alt":
+                return new AlternationEngine(problem, arguments, statistics);
+            case "ext":
+                return new ExternalAStarEngine(problem, arguments, statistics);
+            case "delta":
+                return new DeltaAStarEngine(problem, arguments, statistics);
+            case "beam":
+                return new BeamSearchEngine(problem, arguments, statistics);
+            case "ida":
+                return new IDAStarEngine(problem, arguments, statistics);
+            default:
+                throw new IllegalArgumentException("unknown search engine: " + name);
+        }
+    }
+
+    /**
+     * Creates the heuristic with a specified name: ff for the fast forward heuristic, add for the
+     * additive heuristic, max for the max heuristic, lm for the landmark-count heuristic, and iff
+     * and iadd for the incremental versions of the fast forward and additive heuristics.
+     *
+     * @param name    the name of the heuristic.
+     * @param problem the problem to solve.
+     * @return the heuristic.
+     * @throws IllegalArgumentException if no heuristic has this name.
+     */
+    static Heuristic createHeuristic(final String name, final CodedProblem problem) {
+        switch (name) {
+            case "ff":
+                return HeuristicToolKit.createHeuristic(Heuristic.Type.FAST_FORWARD, problem);
+            case "add":
+                return HeuristicToolKit.createHeuristic(Heuristic.Type.SUM, problem);
+            case "max":
+                return HeuristicToolKit.createHeuristic(Heuristic.Type.MAX, problem);
+            case "lm":
+                return new LandmarkHeuristic(problem);
+            case "iff":
+                return new IncrementalRelaxationHeuristic(problem, true);
+            case "iadd":
+                return new IncrementalRelaxationHeuristic(problem, false);
+            default:
+                throw new IllegalArgumentException("unknown heuristic: " + name);
+        }
+    }
+
+    /**
+     * Creates the partial order reduction with a specified name: none to expand all the applicable
+     * operators or sss for the strong stubborn sets. The stubborn sets are not used when the
+     * operators of the problem have conditional effects.
+     *
+     * @param name    the name of the reduction.
+     * @param problem the problem to solve.
+     * @return the stubborn sets of the problem or null if the operators must not be pruned.
+     * @throws IllegalArgumentException if no reduction has this name.
+     */
+    static StubbornSets createStubbornSets(final String name, final CodedProblem problem) {
+        switch (name) {
+            case "none":
+                return null;
+            case "sss":
+                final StubbornSets stubbornSets = new StubbornSets(problem);
+                return stubbornSets.isSupported() ? stubbornSets : null;
+            default:
+                throw new IllegalArgumentException("unknown partial order reduction: " + name);
+        }
+    }
+
+    /**
+     * Returns the name of the heuristic used to guide the search, i.e., the first heuristic given
+     * with the option -H.
+     *
+     * @param arguments the arguments of the planner.
+     * @return the name of the heuristic.
+     */
+    static String getHeuristic(final Properties arguments) {
+        return ((String) arguments.get("heuristics")).split(",")[0];
+    }
+
     /**
      * Extracts a search from a specified node.
      *
@@ -137,7 +429,7 @@ public final class ASP extends AbstractStateSpacePlanner {
      * @param problem the problem.
      * @return the search extracted from the specified node.
      */
-    private Plan extractPlan(final Node node, final CodedProblem problem) {
+    static Plan extractPlan(final Node node, final CodedProblem problem) {
         Node n = node;
         final Plan plan = new SequentialPlan();
         while (n.getOperator() != -1) {
@@ -158,7 +450,25 @@ public final class ASP extends AbstractStateSpacePlanner {
                 .append("-o <str>    operator file name\n")
                 .append("-f <str>    fact file name\n")
                 .append("-w <num>    the weight used in the a star seach (preset: 1.0)\n")
+                .append("-e <str>    the search engine: astar, gbfs, lazy, ehc, alt, ext, delta, beam or ida\n")
+                .append("            (preset: astar)\n")
+                .append("-m <num>    the heap budget in MB of the ext engine (preset: half of the heap) or the size\n")
+                .append("            in MB of the transposition table of the ida engine (preset: 16)\n")
+                .append("-d <num>    the number of levels between two full states of the delta engine (preset: 16)\n")
+                .append("-l <num>    the number of nodes kept per layer by the beam engine (preset: 100)\n")
+                .append("-H <str>    the heuristics among ff, add, max, lm, iff and iadd: the alt engine uses all\n")
+                .append("            of them and the other engines the first one (preset: ff,add); lm cannot\n")
+                .append("            be used by the ext and delta engines\n")
+                .append("-r <str>    the partial order reduction: none or sss for strong stubborn sets (preset: none)\n")
                 .append("-t <num>    specifies the maximum CPU-time in seconds (preset: 300)\n")
+                .append("-p <num>    the number of threads of the hash distributed search (preset: 1)\n")
+                .append("-k <num>    the number of threads evaluating the heuristic (preset: 1)\n")
+                .append("-b <num>    the number of expansions evaluated by batch (preset: 1)\n")
+                .append("            -p, -k and -b require the astar engine, and -k and -b cannot be used with -p\n")
+                .append("-j <str>    the file where the progress of the search is written as JSON lines\n")
+                .append("-i <num>    the period in ms of the progress samples (preset: 1000)\n")
+                .append("-c <str>    the directory of the cache of the encoded problems\n")
+                .append("-x          reduce the problem before the search\n")
                 .append("-h          print this message\n\n");
         Planner.getLogger().trace(strb.toString());
     }
@@ -169,10 +479,21 @@ public final class ASP extends AbstractStateSpacePlanner {
      * @param args the command line.
      * @return the planner arguments or null if an invalid argument is encountered.
      */
-    private static Properties parseCommandLine(String[] args) {
+    public static Properties parseCommandLine(String[] args) {
 
         // Get the default arguments from the super class
         final Properties arguments = StateSpacePlanner.getDefaultArguments();
+        arguments.put("engine", "astar");
+        arguments.put("heuristics", "ff,add");
+        arguments.put("memory", 0L);
+        arguments.put("snapshot", 16);
+        arguments.put("width", 100);
+        arguments.put("pruning", "none");
+        arguments.put("period", Telemetry.DEFAULT_PERIOD);
+        arguments.put("threads", 1);
+        arguments.put("evaluators", 1);
+        arguments.put("batch", 1);
+        arguments.put("reduce", false);
 
         // Parse the command line and update the default argument value
         for (int i = 0; i < args.length; i += 2) {
@@ -183,13 +504,66 @@ public final class ASP extends AbstractStateSpacePlanner {
                 if (!new File(args[i + 1]).exists()) return null;
                 arguments.put(Planner.PROBLEM, new File(args[i + 1]));
             } else if ("-t".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
-                final int timeout = Integer.parseInt(args[i + 1]) * 1000;
+                final int timeout = Integer.parseInt(args[i + 1]);
                 if (timeout < 0) return null;
                 arguments.put(Planner.TIMEOUT, timeout);
             } else if ("-w".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
                 final double weight = Double.parseDouble(args[i + 1]);
                 if (weight < 0) return null;
                 arguments.put(StateSpacePlanner.WEIGHT, weight);
+            } else if ("-e".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                final String engine = args[i + 1].toLowerCase();
+                if (!Arrays.asList("astar", "gbfs", "lazy", "ehc", "alt", "ext", "delta", "beam", "ida").contains(engine)) return null;
+                arguments.put("engine", engine);
+            } else if ("-H".equals(args[i]) && ((i + 1) < args.length)) {
+                final String heuristics = args[i + 1].toLowerCase();
+                for (String heuristic : heuristics.split(",")) {
+                    if (!Arrays.asList("ff", "add", "max", "lm", "iff", "iadd").contains(heuristic)) return null;
+                }
+                arguments.put("heuristics", heuristics);
+            } else if ("-m".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                final long memory = Long.parseLong(args[i + 1]) * 1024 * 1024;
+                if (memory <= 0) return null;
+                arguments.put("memory", memory);
+            } else if ("-d".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                final int snapshot = Integer.parseInt(args[i + 1]);
+                if (snapshot < 1) return null;
+                arguments.put("snapshot", snapshot);
+            } else if ("-l".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                final int width = Integer.parseInt(args[i + 1]);
+                if (width < 1) return null;
+                arguments.put("width", width);
+            } else if ("-r".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                final String pruning = args[i + 1].toLowerCase();
+                if (!Arrays.asList("none", "sss").contains(pruning)) return null;
+                arguments.put("pruning", pruning);
+            } else if ("-p".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                final int threads = Integer.parseInt(args[i + 1]);
+                if (threads < 1) return null;
+                arguments.put("threads", threads);
+            } else if ("-k".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                final int evaluators = Integer.parseInt(args[i + 1]);
+                if (evaluators < 1) return null;
+                arguments.put("evaluators", evaluators);
+            } else if ("-b".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                final int batch = Integer.parseInt(args[i + 1]);
+                if (batch < 1) return null;
+                arguments.put("batch", batch);
+            } else if ("-j".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                try {
+                    arguments.put("telemetryFile", new FileWriter(args[i + 1]));
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            } else if ("-i".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                final long period = Long.parseLong(args[i + 1]);
+                if (period < 1) return null;
+                arguments.put("period", period);
+            } else if ("-c".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                arguments.put("cache", new ProblemCache(new File(args[i + 1])));
+            } else if ("-x".equalsIgnoreCase(args[i])) {
+                arguments.put("reduce", true);
+                i--;
             } else if ("-s".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
                 try {
                     arguments.put("csvFile", new FileWriter(args[i + 1], true));
@@ -200,6 +574,17 @@ public final class ASP extends AbstractStateSpacePlanner {
                 return null;
             }
         }
+        // Return null if the options cannot be combined
+        final String engine = (String) arguments.get("engine");
+        if (("ext".equals(engine) || "delta".equals(engine)) && "lm".equals(ASP.getHeuristic(arguments))) {
+            return null;
+        }
+        // The other engines than A* would ignore -p, -k and -b, and the hash distributed search -k and -b
+        final boolean distributed = (int) arguments.get("threads") > 1;
+        final boolean batched = (int) arguments.get("evaluators") > 1 || (int) arguments.get("batch") > 1;
+        if (((distributed || batched) && !"astar".equals(engine)) || (distributed && batched)) {
+            return null;
+        }
         // Return null if the domain or the problem was not specified
         return (arguments.get(Planner.DOMAIN) == null
                 || arguments.get(Planner.PROBLEM) == null) ? null : arguments;
@@ -217,9 +602,30 @@ public final class ASP extends AbstractStateSpacePlanner {
      * -o <i>str</i>   operator file name
      * -f <i>str</i>   fact file name
      * -w <i>num</i>   the weight used in the a star search (preset: 1)
+     * -e <i>str</i>   the search engine: astar, gbfs, lazy, ehc, alt, ext, delta, beam or ida
+     *                 (preset: astar)
+     * -m <i>num</i>   the heap budget in MB of the ext engine (preset: half of the heap) or the size
+     *                 in MB of the transposition table of the ida engine (preset: 16)
+     * -d <i>num</i>   the number of levels between two full states of the delta engine (preset: 16)
+     * -l <i>num</i>   the number of nodes kept per layer by the beam engine (preset: 100)
+     * -H <i>str</i>   the heuristics among ff, add, max, lm, iff and iadd: the alt engine uses all
+     *                 of them and the other engines the first one (preset: ff,add); lm cannot
+     *                 be used by the ext and delta engines
+     * -r <i>str</i>   the partial order reduction: none or sss for strong stubborn sets (preset: none)
      * -t <i>num</i>   specifies the maximum CPU-time in seconds (preset: 300)
+     * -p <i>num</i>   the number of threads of the hash distributed search (preset: 1)
+     * -k <i>num</i>   the number of threads evaluating the heuristic (preset: 1)
+     * -b <i>num</i>   the number of expansions evaluated by batch (preset: 1)
+     *                 -p, -k and -b require the astar engine, and -k and -b cannot be used with -p
+     * -j <i>str</i>   the file where the progress of the search is written as JSON lines
+     * -i <i>num</i>   the period in ms of the progress samples (preset: 1000)
+     * -c <i>str</i>   the directory of the cache of the encoded problems
+     * -x              reduce the problem before the search
      * -h              print this message
-     * -s <i>str</i>   specifies save file name
+     * -s <i>str</i>   specifies save file name: the row of the run gives the planner, the domain,
+     *                 the problem, the plan length, the time in ms, the numbers of nodes expanded,
+     *                 generated and evaluated, the number of duplicates pruned, the best heuristic
+     *                 value and the estimated memory used by the search in bytes
      *
      * </pre>
      * </p>
@@ -235,27 +641,50 @@ public final class ASP extends AbstractStateSpacePlanner {
 
         final ASP planner = new ASP(arguments);
 
-        final ProblemFactory factory = ProblemFactory.getInstance();
-
         File domain = (File) arguments.get(Planner.DOMAIN);
         File problem = (File) arguments.get(Planner.PROBLEM);
-        ErrorManager errorManager = null;
-        try {
-            errorManager = factory.parse(domain, problem);
-        } catch (IOException e) {
-            Planner.getLogger().trace("\nunexpected error when parsing the PDDL planning problem description.");
-            System.exit(0);
+        // The encoded problem is loaded from the cache if it was already grounded
+        final ProblemCache cache = (ProblemCache) arguments.get("cache");
+        CodedProblem cached = null;
+        if (cache != null) {
+            try {
+                cached = cache.load(domain, problem);
+            } catch (IOException e) {
+                Planner.getLogger().trace("\nunexpected error when reading the PDDL planning problem description.");
+                System.exit(0);
+            }
         }
-
-        if (!errorManager.isEmpty()) {
-            errorManager.printAll();
-            System.exit(0);
+        final CodedProblem pb;
+        if (cached != null) {
+            pb = cached;
+            Planner.getLogger().trace("\nloading encoded problem from cache done successfully\n");
         } else {
-            Planner.getLogger().trace("\nparsing domain file done successfully");
-            Planner.getLogger().trace("\nparsing problem file done successfully\n");
-        }
+            final ProblemFactory factory = ProblemFactory.getInstance();
+            ErrorManager errorManager = null;
+            try {
+                errorManager = factory.parse(domain, problem);
+            } catch (IOException e) {
+                Planner.getLogger().trace("\nunexpected error when parsing the PDDL planning problem description.");
+                System.exit(0);
+            }
 
-        final CodedProblem pb = factory.encode();
+            if (!errorManager.isEmpty()) {
+                errorManager.printAll();
+                System.exit(0);
+            } else {
+                Planner.getLogger().trace("\nparsing domain file done successfully");
+                Planner.getLogger().trace("\nparsing problem file done successfully\n");
+            }
+
+            pb = factory.encode();
+            if (cache != null) {
+                try {
+                    cache.store(domain, problem, pb);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
         planner.getStatistics().setMemoryUsedForProblemRepresentation(MemoryAgent.getDeepSizeOf(pb));
 
         Planner.getLogger().trace("\nencoding problem done successfully ("
@@ -268,9 +697,25 @@ public final class ASP extends AbstractStateSpacePlanner {
             System.exit(0);
         }
 
+        // The progress of the search is sampled on a timer thread during the search
+        final FileWriter progressWriter = (FileWriter) arguments.get("telemetryFile");
+        final long period = (long) arguments.get("period");
         long begin = System.currentTimeMillis();
-        final Plan plan = planner.search(pb);
+        final Plan plan;
+        final Telemetry telemetry = new Telemetry(planner.getSearchStatistics(), progressWriter, period);
+        try {
+            plan = planner.search(pb);
+        } finally {
+            telemetry.close();
+        }
         long execTime = System.currentTimeMillis() - begin;
+        if (progressWriter != null) {
+            try {
+                progressWriter.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
         planner.getStatistics().setTimeToSearch(execTime);
 
         if (plan != null) {
@@ -280,6 +725,7 @@ public final class ASP extends AbstractStateSpacePlanner {
         } else {
             Planner.getLogger().trace(String.format(String.format("%nno plan found%n%n")));
         }
+        Planner.getLogger().trace(String.format("%s%n%n", planner.getSearchStatistics()));
         FileWriter csvWriter = (FileWriter) arguments.get("csvFile");
         if(csvWriter != null) {
 
@@ -287,7 +733,16 @@ public final class ASP extends AbstractStateSpacePlanner {
             if(plan != null){
                 makespan = plan.size();
             }
-            List<String> rowData = Arrays.asList("ASP",domain.getName(), problem.getName(), Integer.toString(makespan),Long.toString(execTime));
+            final int threads = (int) arguments.get("threads");
+            final String engine = (String) arguments.get("engine");
+            final String name = threads > 1 ? "HDA*(" + threads + ")" : "astar".equals(engine) ? "ASP" : "ASP-" + engine;
+            final SearchStatistics statistics = planner.getSearchStatistics();
+            final int best = statistics.getBestHeuristic();
+            List<String> rowData = Arrays.asList(name,domain.getName(), problem.getName(), Integer.toString(makespan),Long.toString(execTime),
+                    Long.toString(statistics.getExpandedNodes()), Long.toString(statistics.getGeneratedNodes()),
+                    Long.toString(statistics.getEvaluatedNodes()), Long.toString(statistics.getDuplicates()),
+                    Integer.toString(best == Integer.MAX_VALUE ? -1 : best),
+                    Long.toString(planner.getStatistics().getMemoryUsedToSearch()));
             try {
                 csvWriter.append(String.join(",", rowData));
                 csvWriter.append("\n");
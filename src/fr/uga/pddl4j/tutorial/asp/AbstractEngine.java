@@ -0,0 +1,212 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.Plan;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Predicate;
+
+/**
+ * This abstract class is the base of the search engines of the ASP planner. It gives access to the
+ * heuristic selected with the option -H, computes the successors of a node and maintains the
+ * statistics of the search.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+abstract class AbstractEngine {
+
+    /**
+     * The problem to solve.
+     */
+    protected final CodedProblem problem;
+
+    /**
+     * The arguments of the planner.
+     */
+    protected final Properties arguments;
+
+    /**
+     * The statistics of the search.
+     */
+    protected final SearchStatistics statistics;
+
+    /**
+     * The heuristic used to guide the search.
+     */
+    protected final Heuristic heuristic;
+
+    /**
+     * The Zobrist table used to compute the fingerprints of the nodes.
+     */
+    protected final Zobrist zobrist;
+
+    /**
+     * The estimated number of bytes of a node of the problem.
+     */
+    protected final long nodeSize;
+
+    /**
+     * The generator of the successors of the nodes.
+     */
+    private final SuccessorGenerator generator;
+
+    /**
+     * The date in milliseconds after which the search is stopped.
+     */
+    private final long deadline;
+
+    /**
+     * Creates a new search engine.
+     *
+     * @param problem    the problem to solve.
+     * @param arguments  the arguments of the planner.
+     * @param statistics the statistics of the search.
+     */
+    protected AbstractEngine(final CodedProblem problem, final Properties arguments, final SearchStatistics statistics) {
+        this.problem = problem;
+        this.arguments = arguments;
+        this.statistics = statistics;
+        this.heuristic = ASP.createHeuristic(ASP.getHeuristic(arguments), problem);
+        this.zobrist = new Zobrist(problem.getRelevantFacts().size(), Zobrist.DEFAULT_SEED);
+        this.nodeSize = Node.sizeOf(problem.getRelevantFacts().size());
+        this.generator = new SuccessorGenerator(problem, this.zobrist,
+                ASP.createStubbornSets((String) arguments.get("pruning"), problem));
+        final int timeout = ((int) arguments.get(Planner.TIMEOUT)) * 1000;
+        this.deadline = System.currentTimeMillis() + timeout;
+    }
+
+    /**
+     * Creates a new search engine continuing the search of another engine. The new engine shares
+     * the heuristic, the successor generator, the statistics and the deadline of the other engine.
+     *
+     * @param engine the engine whose search is continued.
+     */
+    protected AbstractEngine(final AbstractEngine engine) {
+        this.problem = engine.problem;
+        this.arguments = engine.arguments;
+        this.statistics = engine.statistics;
+        this.heuristic = engine.heuristic;
+        this.zobrist = engine.zobrist;
+        this.nodeSize = engine.nodeSize;
+        this.generator = engine.generator;
+        this.deadline = engine.deadline;
+    }
+
+    /**
+     * Searches a plan for the problem.
+     *
+     * @return the plan found or null if no plan was found.
+     */
+    abstract Plan search();
+
+    /**
+     * Returns the estimated memory used by the data structures of the search.
+     *
+     * @return the memory used in bytes.
+     */
+    abstract long getMemoryUsed();
+
+    /**
+     * Returns the number of nodes waiting to be expanded.
+     *
+     * @return the size of the open list.
+     */
+    abstract int getOpenSize();
+
+    /**
+     * Returns the number of nodes kept to detect the duplicates.
+     *
+     * @return the size of the closed list.
+     */
+    abstract int getClosedSize();
+
+    /**
+     * Creates the root node of the search from the initial state of the problem.
+     *
+     * @return the root node.
+     */
+    protected final Node createRoot() {
+        final Node root = new Node(new BitState(this.problem.getInit()), null, -1, 0, 0);
+        root.setFingerprint(this.zobrist.hash(root));
+        return root;
+    }
+
+    /**
+     * Returns if the time allowed to the search is over or if the thread of the search was
+     * interrupted.
+     *
+     * @return <code>true</code> if the search must stop; <code>false</code> otherwise.
+     */
+    protected final boolean isTimeout() {
+        return System.currentTimeMillis() >= this.deadline || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Returns if a node satisfies the goal of the problem.
+     *
+     * @param node the node.
+     * @return <code>true</code> if the node is a goal node; <code>false</code> otherwise.
+     */
+    protected final boolean isGoal(final Node node) {
+        return node.satisfy(this.problem.getGoal());
+    }
+
+    /**
+     * Computes and sets the heuristic value of a node. The evaluation is recorded in the statistics.
+     *
+     * @param node the node.
+     * @return the heuristic value of the node.
+     */
+    protected final int evaluate(final Node node) {
+        final long begin = System.nanoTime();
+        final int h = this.heuristic.estimate(node, this.problem.getGoal());
+        this.statistics.recordEvaluation(h, System.nanoTime() - begin);
+        node.setHeuristic(h);
+        return h;
+    }
+
+    /**
+     * Returns if a node is a dead end according to the heuristic.
+     *
+     * @param node the evaluated node.
+     * @return <code>true</code> if the goal cannot be reached from the node; <code>false</code> otherwise.
+     */
+    protected static boolean isDeadEnd(final Node node) {
+        return node.getHeuristic() == Integer.MAX_VALUE;
+    }
+
+    /**
+     * Expands a node, i.e., computes the children obtained by applying each applicable operator.
+     * The heuristic value of the children is not computed.
+     *
+     * @param current the node to expand.
+     * @return the children of the node.
+     */
+    protected final List<Node> expand(final Node current) {
+        return this.expand(current, n -> false);
+    }
+
+    /**
+     * Expands a node and returns only the children that are not duplicates. The duplicates are
+     * detected before the children are created, so they cost no allocation. The heuristic value of
+     * the children is not computed. The statistics are updated with the number of duplicates and the
+     * sizes of the open and closed lists.
+     *
+     * @param current   the node to expand.
+     * @param duplicate the test telling if a child is a duplicate.
+     * @return the children of the node that are not duplicates.
+     */
+    protected final List<Node> expand(final Node current, final Predicate<? super Node> duplicate) {
+        final List<Node> children = this.generator.expand(current, duplicate);
+        this.statistics.incExpandedNodes();
+        this.statistics.setGeneratedNodes(this.statistics.getGeneratedNodes() + this.generator.getGenerated());
+        this.statistics.addDuplicates(this.generator.getGenerated() - children.size());
+        this.statistics.setSizes(this.getOpenSize(), this.getClosedSize());
+        return children;
+    }
+}
@@ -0,0 +1,246 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.util.Plan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * This class implements a greedy best first search with an alternation open list. The open list is
+ * made of one queue per heuristic, each queue being ordered by its own heuristic. The queues are
+ * expanded in turn and share the same closed list, so a node expanded from one queue is not
+ * expanded again from the others. Each time a heuristic reaches a value lower than any value seen
+ * so far, its queue is boosted and gets priority for the next expansions. On plateaus of one
+ * heuristic, the other heuristics keep the search moving.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class AlternationEngine extends AbstractEngine {
+
+    /**
+     * The number of expansions granted to a queue when it makes progress.
+     */
+    private static final int BOOST = 1000;
+
+    /**
+     * The estimated number of bytes of an entry of a queue.
+     */
+    private static final long ENTRY_SIZE = 24L;
+
+    /**
+     * The heuristics of the queues.
+     */
+    private final Heuristic[] heuristics;
+
+    /**
+     * The queues of pending nodes, one per heuristic.
+     */
+    private final List<PriorityQueue<Entry>> queues;
+
+    /**
+     * The priority of each queue: the queue with the lowest value is expanded next.
+     */
+    private final int[] priorities;
+
+    /**
+     * The best heuristic value seen so far for each heuristic.
+     */
+    private final int[] best;
+
+    /**
+     * The nodes already generated.
+     */
+    private final Set<Node> generated;
+
+    /**
+     * The nodes already expanded.
+     */
+    private final Set<Node> close;
+
+    /**
+     * Creates a new alternation search.
+     *
+     * @param problem    the problem to solve.
+     * @param arguments  the arguments of the planner.
+     * @param statistics the statistics of the search.
+     */
+    AlternationEngine(final CodedProblem problem, final Properties arguments, final SearchStatistics statistics) {
+        super(problem, arguments, statistics);
+        final String[] names = ((String) arguments.get("heuristics")).split(",");
+        this.heuristics = new Heuristic[names.length];
+        this.queues = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            // The first heuristic is the one already built by the base class
+            this.heuristics[i] = i == 0 ? this.heuristic : ASP.createHeuristic(names[i], problem);
+            this.queues.add(new PriorityQueue<>(100, Comparator.comparingInt((Entry e) -> e.heuristic)
+                    .thenComparingInt(e -> e.node.getCost())));
+        }
+        this.priorities = new int[names.length];
+        this.best = new int[names.length];
+        this.generated = new HashSet<>();
+        this.close = new HashSet<>();
+        statistics.setEngine("alt");
+    }
+
+    /**
+     * Searches a plan for the problem.
+     *
+     * @return the plan found or null if no plan was found.
+     */
+    @Override
+    Plan search() {
+        final Node root = this.createRoot();
+        if (this.isGoal(root)) {
+            return ASP.extractPlan(root, this.problem);
+        }
+        Arrays.fill(this.best, Integer.MAX_VALUE);
+        this.generated.add(root);
+        this.insert(root);
+        while (!this.isTimeout()) {
+            final Node current = this.poll();
+            if (current == null) {
+                return null;
+            }
+            for (Node next : this.expand(current, this.generated::contains)) {
+                if (this.generated.add(next)) {
+                    if (this.isGoal(next)) {
+                        return ASP.extractPlan(next, this.problem);
+                    }
+                    this.insert(next);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Evaluates a node with all the heuristics and inserts it in all the queues. The queues of the
+     * heuristics that reach a new best value are boosted.
+     *
+     * @param node the node.
+     */
+    private void insert(final Node node) {
+        final int[] values = new int[this.heuristics.length];
+        for (int i = 0; i < this.heuristics.length; i++) {
+            final long begin = System.nanoTime();
+            values[i] = this.heuristics[i].estimate(node, this.problem.getGoal());
+            // The best heuristic value reported is the one of the first heuristic
+            if (i == 0) {
+                this.statistics.recordEvaluation(values[i], System.nanoTime() - begin);
+            } else {
+                this.statistics.recordEvaluation(System.nanoTime() - begin);
+            }
+            // A dead end for one heuristic is a dead end for the search
+            if (values[i] == Integer.MAX_VALUE) {
+                return;
+            }
+        }
+        node.setHeuristic(values[0]);
+        for (int i = 0; i < this.heuristics.length; i++) {
+            if (values[i] < this.best[i]) {
+                if (this.best[i] != Integer.MAX_VALUE) {
+                    this.priorities[i] -= BOOST;
+                }
+                this.best[i] = values[i];
+            }
+            this.queues.get(i).add(new Entry(node, values[i]));
+        }
+    }
+
+    /**
+     * Removes from the queue with the highest priority the next node to expand.
+     *
+     * @return the next node to expand or null if all the queues are empty.
+     */
+    private Node poll() {
+        while (true) {
+            int selected = -1;
+            for (int i = 0; i < this.queues.size(); i++) {
+                if (!this.queues.get(i).isEmpty() && (selected == -1 || this.priorities[i] < this.priorities[selected])) {
+                    selected = i;
+                }
+            }
+            if (selected == -1) {
+                return null;
+            }
+            final Node node = this.queues.get(selected).poll().node;
+            if (this.close.add(node)) {
+                this.priorities[selected]++;
+                return node;
+            }
+        }
+    }
+
+    /**
+     * Returns the estimated memory used by the queues and the closed lists. The nodes of the queues
+     * and of the closed list are all in the set of the nodes generated.
+     *
+     * @return the memory used in bytes.
+     */
+    @Override
+    long getMemoryUsed() {
+        return this.generated.size() * (Node.SET_ENTRY + this.nodeSize) + this.close.size() * Node.SET_ENTRY
+                + this.getOpenSize() * (Node.QUEUE_ENTRY + ENTRY_SIZE);
+    }
+
+    /**
+     * Returns the number of entries of all the queues.
+     *
+     * @return the size of the open lists.
+     */
+    @Override
+    int getOpenSize() {
+        int size = 0;
+        for (PriorityQueue<Entry> queue : this.queues) {
+            size += queue.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of nodes already expanded.
+     *
+     * @return the size of the closed list.
+     */
+    @Override
+    int getClosedSize() {
+        return this.close.size();
+    }
+
+    /**
+     * This class implements an entry of a queue, i.e., a node and its value for the heuristic of
+     * the queue.
+     */
+    private static final class Entry {
+
+        /**
+         * The node.
+         */
+        private final Node node;
+
+        /**
+         * The heuristic value of the node for the heuristic of the queue.
+         */
+        private final int heuristic;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param node      the node.
+         * @param heuristic the heuristic value of the node.
+         */
+        private Entry(final Node node, final int heuristic) {
+            this.node = node;
+            this.heuristic = heuristic;
+        }
+    }
+}
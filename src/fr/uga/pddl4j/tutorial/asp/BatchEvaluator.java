@@ -0,0 +1,117 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.util.BitExp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class evaluates in parallel the heuristic of a batch of nodes. The heuristics keep an
+ * internal state, so each worker thread uses its own instance of the heuristic. The nodes of a
+ * batch are split between the workers by their position in the batch, so the value computed for
+ * each node does not depend on the scheduling of the threads.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class BatchEvaluator implements AutoCloseable {
+
+    /**
+     * The heuristic of each worker.
+     */
+    private final Heuristic[] heuristics;
+
+    /**
+     * The pool of worker threads.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Creates a new batch evaluator.
+     *
+     * @param problem   the problem to solve.
+     * @param heuristic the name of the heuristic.
+     * @param threads   the number of worker threads.
+     */
+    BatchEvaluator(final CodedProblem problem, final String heuristic, final int threads) {
+        this.heuristics = new Heuristic[threads];
+        for (int i = 0; i < threads; i++) {
+            this.heuristics[i] = ASP.createHeuristic(heuristic, problem);
+        }
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            final Thread thread = new Thread(r, "heuristic-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sets the heuristic value of all the nodes of a batch.
+     *
+     * @param batch the nodes to evaluate.
+     * @param goal  the goal of the problem.
+     * @return the time taken by the evaluation of each node of the batch in nanoseconds.
+     */
+    long[] evaluate(final List<Node> batch, final BitExp goal) {
+        final long[] times = new long[batch.size()];
+        final int workers = Math.min(this.heuristics.length, batch.size());
+        if (workers <= 1) {
+            this.evaluate(batch, goal, times, 0, 1);
+            return times;
+        }
+        final List<Callable<Void>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            final int worker = i;
+            tasks.add(() -> {
+                this.evaluate(batch, goal, times, worker, workers);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : this.executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("heuristic evaluation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("heuristic evaluation failed", e.getCause());
+        }
+        return times;
+    }
+
+    /**
+     * Sets the heuristic value of the nodes of a batch assigned to a worker.
+     *
+     * @param batch   the nodes to evaluate.
+     * @param goal    the goal of the problem.
+     * @param times   the time taken by the evaluation of each node of the batch.
+     * @param worker  the index of the worker.
+     * @param workers the number of workers sharing the batch.
+     */
+    private void evaluate(final List<Node> batch, final BitExp goal, final long[] times, final int worker,
+                          final int workers) {
+        final Heuristic heuristic = this.heuristics[worker];
+        for (int i = worker; i < batch.size(); i += workers) {
+            final Node node = batch.get(i);
+            final long begin = System.nanoTime();
+            node.setHeuristic(heuristic.estimate(node, goal));
+            times[i] = System.nanoTime() - begin;
+        }
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+}
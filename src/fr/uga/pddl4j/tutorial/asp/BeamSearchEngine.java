@@ -0,0 +1,142 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.util.Plan;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * This class implements a beam search. The search proceeds layer by layer, the layer g containing
+ * the nodes reached with g actions, and only the best nodes of each layer according to the
+ * heuristic are kept, at most the width given with the option -l. The duplicates are detected with
+ * a small hash table of fingerprints where a new fingerprint overwrites the previous one of the same
+ * slot. The filter is lossy, so some duplicates are expanded again, but its size is fixed. The
+ * memory used by the search is thus bounded by the width of the beam and the depth of the plan.
+ * <p>
+ * The search is incomplete: it stops without plan when a layer is empty.
+ * </p>
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class BeamSearchEngine extends AbstractEngine {
+
+    /**
+     * The number of slots of the duplicate filter per node of the beam.
+     */
+    private static final int SLOTS_PER_NODE = 16;
+
+    /**
+     * The maximum number of nodes kept per layer.
+     */
+    private final int width;
+
+    /**
+     * The fingerprints of the duplicate filter, 0 for an empty slot.
+     */
+    private final long[] filter;
+
+    /**
+     * The nodes of the current layer.
+     */
+    private List<Node> layer;
+
+    /**
+     * Creates a new beam search.
+     *
+     * @param problem    the problem to solve.
+     * @param arguments  the arguments of the planner.
+     * @param statistics the statistics of the search.
+     */
+    BeamSearchEngine(final CodedProblem problem, final Properties arguments, final SearchStatistics statistics) {
+        super(problem, arguments, statistics);
+        this.width = (int) arguments.get("width");
+        final int slots = (int) Math.min(1L << 30, (long) this.width * SLOTS_PER_NODE);
+        this.filter = new long[Integer.highestOneBit(Math.max(1024, slots - 1)) << 1];
+        this.layer = new ArrayList<>();
+        statistics.setEngine("beam");
+    }
+
+    /**
+     * Searches a plan for the problem.
+     *
+     * @return the plan found or null if no plan was found.
+     */
+    @Override
+    Plan search() {
+        final Node root = this.createRoot();
+        if (this.isGoal(root)) {
+            return ASP.extractPlan(root, this.problem);
+        }
+        this.evaluate(root);
+        this.isDuplicate(root);
+        this.layer.add(root);
+        while (!this.layer.isEmpty() && !this.isTimeout()) {
+            final List<Node> next = new ArrayList<>();
+            for (Node current : this.layer) {
+                for (Node child : this.expand(current, this::isDuplicate)) {
+                    if (this.isGoal(child)) {
+                        return ASP.extractPlan(child, this.problem);
+                    }
+                    this.evaluate(child);
+                    if (!isDeadEnd(child)) {
+                        next.add(child);
+                    }
+                }
+            }
+            next.sort(Comparator.comparingInt(Node::getHeuristic));
+            this.layer = next.size() > this.width ? new ArrayList<>(next.subList(0, this.width)) : next;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the estimated memory used by the current layer and the duplicate filter.
+     *
+     * @return the memory used in bytes.
+     */
+    @Override
+    long getMemoryUsed() {
+        return this.layer.size() * this.nodeSize + 8L * this.filter.length;
+    }
+
+    /**
+     * Returns the number of nodes of the current layer.
+     *
+     * @return the size of the open list.
+     */
+    @Override
+    int getOpenSize() {
+        return this.layer.size();
+    }
+
+    /**
+     * Returns 0 as the duplicates are detected with a lossy filter of fixed size.
+     *
+     * @return the size of the closed list.
+     */
+    @Override
+    int getClosedSize() {
+        return 0;
+    }
+
+    /**
+     * Returns if a node was already seen and records its fingerprint otherwise.
+     *
+     * @param node the node.
+     * @return <code>true</code> if the fingerprint of the node is in the filter; <code>false</code>
+     *      otherwise.
+     */
+    private boolean isDuplicate(final Node node) {
+        final long fingerprint = node.getFingerprint() == 0L ? 1L : node.getFingerprint();
+        final int slot = (int) (fingerprint ^ (fingerprint >>> 32)) & (this.filter.length - 1);
+        if (this.filter[slot] == fingerprint) {
+            return true;
+        }
+        this.filter[slot] = fingerprint;
+        return false;
+    }
+}
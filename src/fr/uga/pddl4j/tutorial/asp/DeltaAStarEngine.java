@@ -0,0 +1,213 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.planners.statespace.StateSpacePlanner;
+import fr.uga.pddl4j.util.Plan;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * This class implements the weighted A* of the ASP planner on delta-encoded nodes. The nodes are
+ * kept in a {@link DeltaNodeStore} that stores the parent and the operator of each node instead of
+ * its state, and the open list is a binary heap of node indexes. A full node is only created for
+ * the node being expanded and for its children while they are evaluated, so the memory used per
+ * node does not depend on the number of facts of the problem.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class DeltaAStarEngine extends AbstractEngine {
+
+    /**
+     * The weight of the heuristic.
+     */
+    private final double weight;
+
+    /**
+     * The nodes of the search.
+     */
+    private final DeltaNodeStore store;
+
+    /**
+     * The nodes already expanded.
+     */
+    private final BitSet close;
+
+    /**
+     * The number of nodes of the closed set.
+     */
+    private int closed;
+
+    /**
+     * The indexes of the nodes of the open list, ordered as a binary heap.
+     */
+    private int[] heap;
+
+    /**
+     * The value of f of each entry of the heap when it was pushed.
+     */
+    private double[] values;
+
+    /**
+     * The number of entries of the heap.
+     */
+    private int size;
+
+    /**
+     * Creates a new delta-encoded A* search.
+     *
+     * @param problem    the problem to solve.
+     * @param arguments  the arguments of the planner.
+     * @param statistics the statistics of the search.
+     */
+    DeltaAStarEngine(final CodedProblem problem, final Properties arguments, final SearchStatistics statistics) {
+        super(problem, arguments, statistics);
+        this.weight = (double) arguments.get(StateSpacePlanner.WEIGHT);
+        this.store = new DeltaNodeStore(problem, (int) arguments.get("snapshot"));
+        this.close = new BitSet();
+        this.heap = new int[1024];
+        this.values = new double[1024];
+        this.size = 0;
+        statistics.setEngine("delta");
+    }
+
+    /**
+     * Searches a plan for the problem.
+     *
+     * @return the plan found or null if no plan was found.
+     */
+    @Override
+    Plan search() {
+        final Node root = this.createRoot();
+        this.evaluate(root);
+        this.push(this.store.add(root, -1));
+        while (this.size > 0 && !this.isTimeout()) {
+            final int id = this.pop();
+            if (id == -1) {
+                continue;
+            }
+            this.close.set(id);
+            this.closed++;
+            final Node current = this.store.node(id);
+            if (this.isGoal(current)) {
+                return this.store.extractPlan(id);
+            }
+            final int cost = current.getCost() + 1;
+            final List<Node> children = this.expand(current, n -> {
+                final int old = this.store.find(n);
+                return old != -1 && this.store.getCost(old) <= cost;
+            });
+            for (Node next : children) {
+                final int old = this.store.find(next);
+                if (old != -1) {
+                    // A cheaper path to a known node was found: the node is reopened
+                    this.store.update(old, id, next.getOperator(), cost);
+                    if (this.close.get(old)) {
+                        this.close.clear(old);
+                        this.closed--;
+                    }
+                    this.push(old);
+                } else {
+                    this.evaluate(next);
+                    if (!isDeadEnd(next)) {
+                        this.push(this.store.add(next, id));
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the estimated memory used by the store and the open list.
+     *
+     * @return the memory used in bytes.
+     */
+    @Override
+    long getMemoryUsed() {
+        return this.store.getMemoryUsed() + 12L * this.heap.length + this.close.size() / 8;
+    }
+
+    /**
+     * Returns the number of entries of the open list, outdated entries included.
+     *
+     * @return the size of the open list.
+     */
+    @Override
+    int getOpenSize() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of nodes expanded and not reopened.
+     *
+     * @return the size of the closed list.
+     */
+    @Override
+    int getClosedSize() {
+        return this.closed;
+    }
+
+    /**
+     * Returns the value of the function f of a node.
+     *
+     * @param id the index of the node.
+     * @return the value of f.
+     */
+    private double f(final int id) {
+        return this.weight * this.store.getHeuristic(id) + this.store.getCost(id);
+    }
+
+    /**
+     * Pushes a node in the open list.
+     *
+     * @param id the index of the node.
+     */
+    private void push(final int id) {
+        if (this.size == this.heap.length) {
+            this.heap = Arrays.copyOf(this.heap, this.size * 2);
+            this.values = Arrays.copyOf(this.values, this.size * 2);
+        }
+        final double value = this.f(id);
+        int i = this.size++;
+        while (i > 0 && this.values[(i - 1) / 2] > value) {
+            this.heap[i] = this.heap[(i - 1) / 2];
+            this.values[i] = this.values[(i - 1) / 2];
+            i = (i - 1) / 2;
+        }
+        this.heap[i] = id;
+        this.values[i] = value;
+    }
+
+    /**
+     * Removes the node with the lowest f value from the open list.
+     *
+     * @return the index of the node or -1 if the entry is outdated, i.e., if the node was already
+     *      expanded or was pushed again with a lower cost.
+     */
+    private int pop() {
+        final int id = this.heap[0];
+        final double value = this.values[0];
+        final int lastId = this.heap[--this.size];
+        final double lastValue = this.values[this.size];
+        int i = 0;
+        while (2 * i + 1 < this.size) {
+            int child = 2 * i + 1;
+            if (child + 1 < this.size && this.values[child + 1] < this.values[child]) {
+                child++;
+            }
+            if (this.values[child] >= lastValue) {
+                break;
+            }
+            this.heap[i] = this.heap[child];
+            this.values[i] = this.values[child];
+            i = child;
+        }
+        this.heap[i] = lastId;
+        this.values[i] = lastValue;
+        return this.close.get(id) || value != this.f(id) ? -1 : id;
+    }
+}
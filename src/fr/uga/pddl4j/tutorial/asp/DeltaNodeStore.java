@@ -0,0 +1,408 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.CondBitExp;
+import fr.uga.pddl4j.util.Plan;
+import fr.uga.pddl4j.util.SequentialPlan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class stores the nodes of a search in a compact form. A node is identified by an index and
+ * only its parent, the operator applied to reach it, its cost, its heuristic value and its
+ * fingerprint are stored, in arrays of primitive values. The state of a node is rebuilt on demand
+ * by replaying the operators from the closest ancestor whose state is known. The state of the
+ * nodes whose depth is a multiple of the snapshot interval is stored to bound the number of
+ * operators replayed, and the states rebuilt recently are kept in a small cache.
+ * <p>
+ * The nodes are indexed by fingerprint: the nodes with the same fingerprint are chained, and their
+ * states are only compared when the fingerprints are equal.
+ * </p>
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class DeltaNodeStore {
+
+    /**
+     * The number of states kept in the cache.
+     */
+    private static final int CACHE_SIZE = 4096;
+
+    /**
+     * The problem to solve.
+     */
+    private final CodedProblem problem;
+
+    /**
+     * The number of levels between two snapshots.
+     */
+    private final int interval;
+
+    /**
+     * The parent of each node, -1 for the root.
+     */
+    private int[] parents;
+
+    /**
+     * The operator applied to reach each node, -1 for the root.
+     */
+    private int[] operators;
+
+    /**
+     * The cost to reach each node from the root.
+     */
+    private int[] costs;
+
+    /**
+     * The heuristic value of each node.
+     */
+    private int[] heuristics;
+
+    /**
+     * The fingerprint of each node.
+     */
+    private long[] fingerprints;
+
+    /**
+     * The next node with the same fingerprint, -1 for the last one.
+     */
+    private int[] chains;
+
+    /**
+     * The number of nodes stored.
+     */
+    private int size;
+
+    /**
+     * The fingerprints of the hash table, 0 for an empty slot.
+     */
+    private long[] keys;
+
+    /**
+     * The first node of each slot of the hash table.
+     */
+    private int[] heads;
+
+    /**
+     * The number of slots used in the hash table.
+     */
+    private int used;
+
+    /**
+     * The first node whose fingerprint is 0, which marks the empty slots of the hash table, or -1
+     * if there is none.
+     */
+    private int zero;
+
+    /**
+     * The states stored for the nodes at a snapshot depth.
+     */
+    private final Map<Integer, BitState> snapshots;
+
+    /**
+     * The states rebuilt recently.
+     */
+    private final LinkedHashMap<Integer, BitState> cache;
+
+    /**
+     * The effects of the operator being replayed whose condition holds.
+     */
+    private final List<BitExp> effects;
+
+    /**
+     * Creates a new empty store.
+     *
+     * @param problem  the problem to solve.
+     * @param interval the number of levels between two snapshots.
+     */
+    DeltaNodeStore(final CodedProblem problem, final int interval) {
+        this.problem = problem;
+        this.interval = interval;
+        this.parents = new int[1024];
+        this.operators = new int[1024];
+        this.costs = new int[1024];
+        this.heuristics = new int[1024];
+        this.fingerprints = new long[1024];
+        this.chains = new int[1024];
+        this.keys = new long[2048];
+        this.heads = new int[2048];
+        this.zero = -1;
+        this.snapshots = new HashMap<>();
+        this.cache = new LinkedHashMap<Integer, BitState>(CACHE_SIZE * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, BitState> eldest) {
+                return this.size() > CACHE_SIZE;
+            }
+        };
+        this.effects = new ArrayList<>();
+    }
+
+    /**
+     * Adds a node to the store.
+     *
+     * @param node   the node, whose state is copied only if it is a snapshot.
+     * @param parent the index of the parent of the node or -1 for the root.
+     * @return the index of the node.
+     */
+    int add(final Node node, final int parent) {
+        if (this.size == this.parents.length) {
+            final int capacity = this.size * 2;
+            this.parents = Arrays.copyOf(this.parents, capacity);
+            this.operators = Arrays.copyOf(this.operators, capacity);
+            this.costs = Arrays.copyOf(this.costs, capacity);
+            this.heuristics = Arrays.copyOf(this.heuristics, capacity);
+            this.fingerprints = Arrays.copyOf(this.fingerprints, capacity);
+            this.chains = Arrays.copyOf(this.chains, capacity);
+        }
+        final int id = this.size++;
+        this.parents[id] = parent;
+        this.operators[id] = node.getOperator();
+        this.costs[id] = node.getCost();
+        this.heuristics[id] = node.getHeuristic();
+        this.fingerprints[id] = node.getFingerprint();
+        this.chains[id] = this.index(node.getFingerprint(), id);
+        if (node.getCost() % this.interval == 0) {
+            this.snapshots.put(id, new BitState(node));
+        }
+        return id;
+    }
+
+    /**
+     * Returns the index of the node with the same state as a specified node.
+     *
+     * @param node the node.
+     * @return the index of the node with the same state or -1 if there is none.
+     */
+    int find(final Node node) {
+        int id = this.head(node.getFingerprint());
+        while (id != -1) {
+            if (this.state(id).equals(node)) {
+                return id;
+            }
+            id = this.chains[id];
+        }
+        return -1;
+    }
+
+    /**
+     * Sets a new parent to a node when a cheaper path to it is found.
+     *
+     * @param id       the index of the node.
+     * @param parent   the index of the new parent.
+     * @param operator the operator applied from the new parent.
+     * @param cost     the new cost of the node.
+     */
+    void update(final int id, final int parent, final int operator, final int cost) {
+        this.parents[id] = parent;
+        this.operators[id] = operator;
+        this.costs[id] = cost;
+    }
+
+    /**
+     * Returns the cost to reach a node from the root.
+     *
+     * @param id the index of the node.
+     * @return the cost of the node.
+     */
+    int getCost(final int id) {
+        return this.costs[id];
+    }
+
+    /**
+     * Returns the heuristic value of a node.
+     *
+     * @param id the index of the node.
+     * @return the heuristic value of the node.
+     */
+    int getHeuristic(final int id) {
+        return this.heuristics[id];
+    }
+
+    /**
+     * Returns the number of nodes stored.
+     *
+     * @return the number of nodes stored.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns a node with the state of a stored node, ready to be expanded. The node has no parent.
+     *
+     * @param id the index of the stored node.
+     * @return the node.
+     */
+    Node node(final int id) {
+        final Node node = new Node(this.state(id), null, this.operators[id], this.costs[id], this.heuristics[id]);
+        node.setFingerprint(this.fingerprints[id]);
+        return node;
+    }
+
+    /**
+     * Returns the state of a node. The state returned must not be modified.
+     *
+     * @param id the index of the node.
+     * @return the state of the node.
+     */
+    BitState state(final int id) {
+        BitState state = this.cache.get(id);
+        if (state != null) {
+            return state;
+        }
+        // We go up to the closest ancestor whose state is known
+        final List<Integer> path = new ArrayList<>();
+        int n = id;
+        BitState base = this.snapshots.get(n);
+        while (base == null) {
+            base = this.cache.get(n);
+            if (base == null) {
+                path.add(n);
+                n = this.parents[n];
+                base = this.snapshots.get(n);
+            }
+        }
+        // We replay the operators from this ancestor
+        state = new BitState(base);
+        for (int k = path.size() - 1; k >= 0; k--) {
+            this.replay(state, this.problem.getOperators().get(this.operators[path.get(k)]));
+        }
+        this.cache.put(id, state);
+        return state;
+    }
+
+    /**
+     * Extracts the plan leading to a node.
+     *
+     * @param id the index of the node.
+     * @return the plan leading to the node.
+     */
+    Plan extractPlan(final int id) {
+        final Plan plan = new SequentialPlan();
+        int n = id;
+        while (this.operators[n] != -1) {
+            plan.add(0, this.problem.getOperators().get(this.operators[n]));
+            n = this.parents[n];
+        }
+        return plan;
+    }
+
+    /**
+     * Returns the estimated memory used by the store.
+     *
+     * @return the memory used in bytes.
+     */
+    long getMemoryUsed() {
+        final long state = 16L + 8L * ((this.problem.getRelevantFacts().size() + 63) / 64);
+        return 32L * this.parents.length + 12L * this.keys.length
+                + (this.snapshots.size() + this.cache.size()) * (64 + state);
+    }
+
+    /**
+     * Applies an operator to a state.
+     *
+     * @param state the state.
+     * @param op    the operator.
+     */
+    private void replay(final BitState state, final BitOp op) {
+        this.effects.clear();
+        for (CondBitExp ce : op.getCondEffects()) {
+            if (state.satisfy(ce.getCondition())) {
+                this.effects.add(ce.getEffects());
+            }
+        }
+        for (BitExp effect : this.effects) {
+            state.apply(effect);
+        }
+    }
+
+    /**
+     * Returns the first node with a specified fingerprint.
+     *
+     * @param fingerprint the fingerprint.
+     * @return the index of the first node or -1 if there is none.
+     */
+    private int head(final long fingerprint) {
+        if (fingerprint == 0L) {
+            return this.zero;
+        }
+        int slot = this.slot(fingerprint);
+        while (this.keys[slot] != 0L) {
+            if (this.keys[slot] == fingerprint) {
+                return this.heads[slot];
+            }
+            slot = (slot + 1) & (this.keys.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Makes a node the first node of its fingerprint.
+     *
+     * @param fingerprint the fingerprint of the node.
+     * @param id          the index of the node.
+     * @return the index of the previous first node or -1 if there was none.
+     */
+    private int index(final long fingerprint, final int id) {
+        if (fingerprint == 0L) {
+            final int previous = this.zero;
+            this.zero = id;
+            return previous;
+        }
+        if (2 * (this.used + 1) > this.keys.length) {
+            this.rehash();
+        }
+        int slot = this.slot(fingerprint);
+        while (this.keys[slot] != 0L) {
+            if (this.keys[slot] == fingerprint) {
+                final int previous = this.heads[slot];
+                this.heads[slot] = id;
+                return previous;
+            }
+            slot = (slot + 1) & (this.keys.length - 1);
+        }
+        this.keys[slot] = fingerprint;
+        this.heads[slot] = id;
+        this.used++;
+        return -1;
+    }
+
+    /**
+     * Returns the first slot of a fingerprint in the hash table.
+     *
+     * @param fingerprint the fingerprint.
+     * @return the slot.
+     */
+    private int slot(final long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & (this.keys.length - 1);
+    }
+
+    /**
+     * Doubles the size of the hash table.
+     */
+    private void rehash() {
+        final long[] oldKeys = this.keys;
+        final int[] oldHeads = this.heads;
+        this.keys = new long[oldKeys.length * 2];
+        this.heads = new int[oldHeads.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0L) {
+                int slot = this.slot(oldKeys[i]);
+                while (this.keys[slot] != 0L) {
+                    slot = (slot + 1) & (this.keys.length - 1);
+                }
+                this.keys[slot] = oldKeys[i];
+                this.heads[slot] = oldHeads[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.util.Plan;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * This class implements the enforced hill-climbing of the FF planner. From the current node, a
+ * breadth first search is run until a node with a strictly better heuristic value is found. This
+ * node becomes the new current node and the search goes on until the goal is reached. When a
+ * breadth first search exhausts its plateau without improvement, enforced hill-climbing fails and,
+ * as in FF, a complete greedy best first search is run from the initial state.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class EnforcedHillClimbingEngine extends AbstractEngine {
+
+    /**
+     * The nodes of the breadth first search in progress.
+     */
+    private final Deque<Node> queue;
+
+    /**
+     * The nodes already reached by the breadth first search in progress.
+     */
+    private final Set<Node> close;
+
+    /**
+     * The search used when enforced hill-climbing fails.
+     */
+    private GreedyBestFirstEngine fallback;
+
+    /**
+     * Creates a new enforced hill-climbing search.
+     *
+     * @param problem    the problem to solve.
+     * @param arguments  the arguments of the planner.
+     * @param statistics the statistics of the search.
+     */
+    EnforcedHillClimbingEngine(final CodedProblem problem, final Properties arguments,
+                               final SearchStatistics statistics) {
+        super(problem, arguments, statistics);
+        this.queue = new ArrayDeque<>();
+        this.close = new HashSet<>();
+        statistics.setEngine("ehc");
+    }
+
+    /**
+     * Searches a plan for the problem.
+     *
+     * @return the plan found or null if no plan was found.
+     */
+    @Override
+    Plan search() {
+        Node current = this.createRoot();
+        this.evaluate(current);
+        while (current != null && !this.isGoal(current)) {
+            if (isDeadEnd(current) || this.isTimeout()) {
+                return null;
+            }
+            current = this.improve(current);
+        }
+        if (current != null) {
+            return ASP.extractPlan(current, this.problem);
+        }
+        if (this.isTimeout()) {
+            return null;
+        }
+        this.queue.clear();
+        this.close.clear();
+        this.fallback = new GreedyBestFirstEngine(this);
+        this.statistics.setEngine("ehc+gbfs");
+        return this.fallback.search();
+    }
+
+    /**
+     * Runs a breadth first search from a node until a node with a better heuristic value is found.
+     *
+     * @param from the node to improve.
+     * @return the first node found with a better heuristic value or null if the plateau of the
+     *      node was exhausted.
+     */
+    private Node improve(final Node from) {
+        this.queue.clear();
+        this.close.clear();
+        this.queue.add(from);
+        this.close.add(from);
+        while (!this.queue.isEmpty() && !this.isTimeout()) {
+            final Node current = this.queue.poll();
+            for (Node next : this.expand(current, this.close::contains)) {
+                if (this.close.add(next)) {
+                    this.evaluate(next);
+                    if (next.getHeuristic() < from.getHeuristic()) {
+                        return next;
+                    }
+                    if (!isDeadEnd(next)) {
+                        this.queue.add(next);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the estimated memory used by the last breadth first search or by the fallback search.
+     * The nodes of the queue are also in the closed list.
+     *
+     * @return the memory used in bytes.
+     */
+    @Override
+    long getMemoryUsed() {
+        if (this.fallback != null) {
+            return this.fallback.getMemoryUsed();
+        }
+        return this.close.size() * (Node.SET_ENTRY + this.nodeSize) + this.queue.size() * Node.QUEUE_ENTRY;
+    }
+
+    /**
+     * Returns the number of nodes waiting to be expanded by the current search.
+     *
+     * @return the size of the open list.
+     */
+    @Override
+    int getOpenSize() {
+        return this.fallback != null ? this.fallback.getOpenSize() : this.queue.size();
+    }
+
+    /**
+     * Returns the number of nodes kept to detect the duplicates by the current search.
+     *
+     * @return the size of the closed list.
+     */
+    @Override
+    int getClosedSize() {
+        return this.fallback != null ? this.fallback.getClosedSize() : this.close.size();
+    }
+}
@@ -0,0 +1,928 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.planners.statespace.StateSpacePlanner;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.Plan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * This class implements a weighted A* bounded by a heap budget. As long as the open and closed
+ * lists fit in the budget, the search behaves as the A* of the ASP planner. When the budget is
+ * reached, the closed list is written to disk as a run sorted by state and the half of the open
+ * list with the highest f values is written to disk as well. The runs are written and read through
+ * windows of memory-mapped files, so their size is not limited by the size of a mapping. The
+ * compact search tree is not written to disk and is not part of the budget.
+ * <p>
+ * Duplicates are detected in a delayed way: a node is only compared to the closed nodes kept in
+ * memory when it is generated or expanded. When the nodes written to disk are loaded back in the
+ * open list, the runs are merged in a streaming way with the closed runs to remove the duplicates,
+ * and only the nodes with the lowest f values that fit in the budget are loaded.
+ * A node whose closed copy is on disk may therefore be expanded twice, which costs time but does
+ * not change the plan found. The search tree is kept in a compact {@link Trace} so that the plan
+ * can be extracted without the nodes.
+ * </p>
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class ExternalAStarEngine extends AbstractEngine {
+
+    /**
+     * The maximum number of closed runs before they are merged into a single run.
+     */
+    private static final int MAX_RUNS = 8;
+
+    /**
+     * The estimated size in bytes of a node of the open list without its state.
+     */
+    private static final int OPEN_OVERHEAD = 64;
+
+    /**
+     * The estimated size in bytes of an entry of the closed list without its state.
+     */
+    private static final int CLOSE_OVERHEAD = 96;
+
+    /**
+     * The maximum size in bytes of a window of a run mapped in memory.
+     */
+    private static final int WINDOW = 1 << 26;
+
+    /**
+     * The heap budget of the search in bytes.
+     */
+    private final long budget;
+
+    /**
+     * The number of 64-bit words of a state.
+     */
+    private final int words;
+
+    /**
+     * The weight of the heuristic.
+     */
+    private final double weight;
+
+    /**
+     * The pending nodes kept in memory.
+     */
+    private final PriorityQueue<Record> open;
+
+    /**
+     * The cost of the closed nodes kept in memory.
+     */
+    private final Map<Key, Integer> close;
+
+    /**
+     * The closed nodes written to disk.
+     */
+    private final List<Run> closedRuns;
+
+    /**
+     * The pending nodes written to disk.
+     */
+    private final List<Run> openRuns;
+
+    /**
+     * The compact search tree.
+     */
+    private final Trace trace;
+
+    /**
+     * The lowest f value of the pending nodes written to disk.
+     */
+    private double floor;
+
+    /**
+     * The directory of the runs.
+     */
+    private Path directory;
+
+    /**
+     * The number of run files created so far.
+     */
+    private int files;
+
+    /**
+     * Creates a new external memory A* search.
+     *
+     * @param problem    the problem to solve.
+     * @param arguments  the arguments of the planner.
+     * @param statistics the statistics of the search.
+     */
+    ExternalAStarEngine(final CodedProblem problem, final Properties arguments, final SearchStatistics statistics) {
+        super(problem, arguments, statistics);
+        final long memory = (long) arguments.get("memory");
+        this.budget = memory > 0 ? memory : Runtime.getRuntime().maxMemory() / 2;
+        this.words = Math.max(1, (problem.getRelevantFacts().size() + 63) / 64);
+        this.weight = (double) arguments.get(StateSpacePlanner.WEIGHT);
+        this.open = new PriorityQueue<>(100, Comparator.comparingDouble(this::f));
+        this.close = new HashMap<>();
+        this.closedRuns = new ArrayList<>();
+        this.openRuns = new ArrayList<>();
+        this.trace = new Trace();
+        this.floor = Double.POSITIVE_INFINITY;
+        statistics.setEngine("ext");
+    }
+
+    /**
+     * Searches a plan for the problem.
+     *
+     * @return the plan found or null if no plan was found.
+     */
+    @Override
+    Plan search() {
+        try {
+            this.directory = Files.createTempDirectory("asp-ext");
+            final Node root = this.createRoot();
+            this.open.add(new Record(this.key(root), 0, this.evaluate(root), -1, -1));
+            while (!this.isTimeout()) {
+                final Record current = this.poll();
+                if (current == null) {
+                    return null;
+                }
+                final Integer closed = this.close.get(current.key);
+                if (closed != null && closed <= current.cost) {
+                    continue;
+                }
+                this.close.put(current.key, current.cost);
+                final Node node = this.node(current.key);
+                if (this.isGoal(node)) {
+                    return this.trace.extractPlan(current.parent, current.operator, this.problem);
+                }
+                final int id = this.trace.add(current.parent, current.operator);
+                for (Node next : this.expand(node)) {
+                    final Key key = this.key(next);
+                    final Integer cost = this.close.get(key);
+                    if (cost == null || cost > current.cost + 1) {
+                        final int h = this.evaluate(next);
+                        if (!isDeadEnd(next)) {
+                            this.open.add(new Record(key, current.cost + 1, h, id, next.getOperator()));
+                        }
+                    }
+                }
+                // The trace cannot be written to disk, so it is not part of the budget
+                if (this.getListsMemoryUsed() > this.budget) {
+                    this.spill();
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.clean();
+        }
+    }
+
+    /**
+     * Returns the estimated memory used by the open and closed lists kept in memory and by the
+     * trace.
+     *
+     * @return the memory used in bytes.
+     */
+    @Override
+    long getMemoryUsed() {
+        return this.getListsMemoryUsed() + this.trace.getMemoryUsed();
+    }
+
+    /**
+     * Returns the estimated memory used by the open and closed lists kept in memory.
+     *
+     * @return the memory used in bytes.
+     */
+    private long getListsMemoryUsed() {
+        return this.open.size() * this.getOpenEntrySize() + this.close.size() * (CLOSE_OVERHEAD + this.getStateSize());
+    }
+
+    /**
+     * Returns the estimated size in bytes of a state kept in memory.
+     *
+     * @return the size of a state.
+     */
+    private long getStateSize() {
+        return 16L + 8L * this.words;
+    }
+
+    /**
+     * Returns the estimated size in bytes of a node of the open list.
+     *
+     * @return the size of a node of the open list.
+     */
+    private long getOpenEntrySize() {
+        return OPEN_OVERHEAD + this.getStateSize();
+    }
+
+    /**
+     * Returns the number of pending nodes kept in memory.
+     *
+     * @return the size of the open list.
+     */
+    @Override
+    int getOpenSize() {
+        return this.open.size();
+    }
+
+    /**
+     * Returns the number of closed nodes kept in memory.
+     *
+     * @return the size of the closed list.
+     */
+    @Override
+    int getClosedSize() {
+        return this.close.size();
+    }
+
+    /**
+     * Returns the value of the function f of a record.
+     *
+     * @param record the record.
+     * @return the value of f.
+     */
+    private double f(final Record record) {
+        return this.weight * record.heuristic + record.cost;
+    }
+
+    /**
+     * Returns the key of the state of a node.
+     *
+     * @param node the node.
+     * @return the key of its state.
+     */
+    private Key key(final BitSet node) {
+        return new Key(Arrays.copyOf(node.toLongArray(), this.words));
+    }
+
+    /**
+     * Returns a node with the state of a key.
+     *
+     * @param key the key.
+     * @return the node.
+     */
+    private Node node(final Key key) {
+        final Node node = new Node(new BitState());
+        node.or(BitSet.valueOf(key.words));
+        node.setFingerprint(this.zobrist.hash(node));
+        return node;
+    }
+
+    /**
+     * Removes the next record to expand. The pending nodes written to disk are loaded back as soon
+     * as one of them could have a lower f value than the best node kept in memory.
+     *
+     * @return the next record to expand or null if there is no pending node left.
+     * @throws IOException if the runs cannot be read.
+     */
+    private Record poll() throws IOException {
+        while (!this.openRuns.isEmpty() && (this.open.isEmpty() || this.f(this.open.peek()) > this.floor)) {
+            this.reload();
+        }
+        return this.open.poll();
+    }
+
+    /**
+     * Writes the closed list and the cold half of the open list to disk.
+     *
+     * @throws IOException if the runs cannot be written.
+     */
+    private void spill() throws IOException {
+        // Pending nodes already closed with a lower cost are useless
+        this.open.removeIf(r -> {
+            final Integer cost = this.close.get(r.key);
+            return cost != null && cost <= r.cost;
+        });
+        if (!this.close.isEmpty()) {
+            final List<Map.Entry<Key, Integer>> entries = new ArrayList<>(this.close.entrySet());
+            entries.sort(Map.Entry.comparingByKey());
+            final Run run = this.create(false);
+            for (Map.Entry<Key, Integer> entry : entries) {
+                final ByteBuffer buffer = run.append();
+                ExternalAStarEngine.putKey(buffer, entry.getKey());
+                buffer.putInt(entry.getValue());
+            }
+            run.close();
+            this.closedRuns.add(run);
+            this.close.clear();
+            if (this.closedRuns.size() > MAX_RUNS) {
+                this.compact();
+            }
+        }
+        if (this.open.size() > 1) {
+            final List<Record> records = new ArrayList<>(this.open);
+            records.sort(Comparator.comparingDouble(this::f));
+            final List<Record> cold = records.subList(records.size() / 2, records.size());
+            this.floor = Math.min(this.floor, this.f(cold.get(0)));
+            cold.sort(Comparator.comparing((Record r) -> r.key).thenComparingInt(r -> r.cost));
+            final Run run = this.create(true);
+            for (Record record : cold) {
+                ExternalAStarEngine.putRecord(run.append(), record);
+            }
+            run.close();
+            this.openRuns.add(run);
+            this.open.clear();
+            this.open.addAll(records.subList(0, records.size() / 2));
+        }
+    }
+
+    /**
+     * Loads back the pending nodes written to disk with the lowest f values. The open runs are
+     * merged with each other and with the closed runs in a streaming way: only the cheapest node
+     * of each state is kept and the nodes closed with a lower cost are removed. A first merge
+     * counts the nodes of each f value to choose the highest f value whose nodes fit in half of
+     * the budget left; the second merge loads the nodes up to this f value and writes the others
+     * back in a new run. The nodes of the lowest f value are always loaded, so that the search
+     * goes on even if they do not fit in the budget.
+     *
+     * @throws IOException if the runs cannot be read or written.
+     */
+    private void reload() throws IOException {
+        final TreeMap<Double, Long> levels = new TreeMap<>();
+        Merge merge = new Merge(this.openRuns);
+        for (Record record = merge.next(); record != null; record = merge.next()) {
+            levels.merge(this.f(record), 1L, Long::sum);
+        }
+        final List<Run> runs = new ArrayList<>(this.openRuns);
+        this.openRuns.clear();
+        this.floor = Double.POSITIVE_INFINITY;
+        if (!levels.isEmpty()) {
+            final long free = Math.max(0L, this.budget - this.getListsMemoryUsed()) / 2;
+            final double threshold = ExternalAStarEngine.threshold(levels, free / this.getOpenEntrySize());
+            final Run rest = this.create(true);
+            merge = new Merge(runs);
+            for (Record record = merge.next(); record != null; record = merge.next()) {
+                final double f = this.f(record);
+                if (f <= threshold) {
+                    this.open.add(record);
+                } else {
+                    ExternalAStarEngine.putRecord(rest.append(), record);
+                    this.floor = Math.min(this.floor, f);
+                }
+            }
+            rest.close();
+            if (rest.count > 0) {
+                this.openRuns.add(rest);
+            } else {
+                rest.delete();
+            }
+        }
+        for (Run run : runs) {
+            run.delete();
+        }
+    }
+
+    /**
+     * Returns the highest f value such that the pending nodes with a lower or equal f value do not
+     * exceed a number of nodes. The lowest f value is returned if its nodes alone exceed it.
+     *
+     * @param levels   the number of pending nodes of each f value.
+     * @param capacity the maximum number of nodes.
+     * @return the f value.
+     */
+    private static double threshold(final TreeMap<Double, Long> levels, final long capacity) {
+        double threshold = levels.firstKey();
+        long loaded = 0;
+        for (Map.Entry<Double, Long> level : levels.entrySet()) {
+            if (loaded > 0 && loaded + level.getValue() > capacity) {
+                break;
+            }
+            loaded += level.getValue();
+            threshold = level.getKey();
+        }
+        return threshold;
+    }
+
+    /**
+     * Merges all the closed runs into a single run keeping the lowest cost of each state.
+     *
+     * @throws IOException if the runs cannot be read or written.
+     */
+    private void compact() throws IOException {
+        final PriorityQueue<Cursor> cursors = new PriorityQueue<>(Comparator.comparing((Cursor c) -> c.key)
+                .thenComparingInt(c -> c.cost));
+        for (Run run : this.closedRuns) {
+            final Cursor cursor = new Cursor(run);
+            if (cursor.next()) {
+                cursors.add(cursor);
+            }
+        }
+        final Run merged = this.create(false);
+        Key last = null;
+        while (!cursors.isEmpty()) {
+            final Cursor cursor = cursors.poll();
+            if (last == null || !last.equals(cursor.key)) {
+                final ByteBuffer buffer = merged.append();
+                ExternalAStarEngine.putKey(buffer, cursor.key);
+                buffer.putInt(cursor.cost);
+                last = cursor.key;
+            }
+            if (cursor.next()) {
+                cursors.add(cursor);
+            }
+        }
+        merged.close();
+        for (Run run : this.closedRuns) {
+            run.delete();
+        }
+        this.closedRuns.clear();
+        this.closedRuns.add(merged);
+    }
+
+    /**
+     * Creates a new run file.
+     *
+     * @param pending <code>true</code> for a run of pending nodes; <code>false</code> for a run of
+     *                closed nodes.
+     * @return the run created.
+     * @throws IOException if the file cannot be created.
+     */
+    private Run create(final boolean pending) throws IOException {
+        final Path path = this.directory.resolve("run-" + this.files++ + ".bin");
+        return new Run(path, pending, pending ? 8 * this.words + 16 : 8 * this.words + 4);
+    }
+
+    /**
+     * Deletes the runs and their directory.
+     */
+    private void clean() {
+        for (Run run : this.closedRuns) {
+            run.delete();
+        }
+        for (Run run : this.openRuns) {
+            run.delete();
+        }
+        this.closedRuns.clear();
+        this.openRuns.clear();
+        if (this.directory != null) {
+            try {
+                Files.deleteIfExists(this.directory);
+            } catch (IOException e) {
+                this.directory.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Writes a key at the current position of a buffer.
+     *
+     * @param buffer the buffer.
+     * @param key    the key.
+     */
+    private static void putKey(final ByteBuffer buffer, final Key key) {
+        for (long word : key.words) {
+            buffer.putLong(word);
+        }
+    }
+
+    /**
+     * Reads a key at the current position of a buffer.
+     *
+     * @param buffer the buffer.
+     * @return the key.
+     */
+    private Key getKey(final ByteBuffer buffer) {
+        final long[] words = new long[this.words];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.getLong();
+        }
+        return new Key(words);
+    }
+
+    /**
+     * Writes a pending node at the current position of a buffer.
+     *
+     * @param buffer the buffer.
+     * @param record the pending node.
+     */
+    private static void putRecord(final ByteBuffer buffer, final Record record) {
+        ExternalAStarEngine.putKey(buffer, record.key);
+        buffer.putInt(record.cost);
+        buffer.putInt(record.heuristic);
+        buffer.putInt(record.parent);
+        buffer.putInt(record.operator);
+    }
+
+    /**
+     * This class implements the key of a state, i.e., its bits stored in a fixed number of 64-bit
+     * words. The keys are ordered lexicographically to sort the runs.
+     */
+    private static final class Key implements Comparable<Key> {
+
+        /**
+         * The bits of the state.
+         */
+        private final long[] words;
+
+        /**
+         * The hash code of the key.
+         */
+        private final int hash;
+
+        /**
+         * Creates a new key.
+         *
+         * @param words the bits of the state.
+         */
+        private Key(final long[] words) {
+            this.words = words;
+            this.hash = Arrays.hashCode(words);
+        }
+
+        @Override
+        public int compareTo(final Key other) {
+            return Arrays.compare(this.words, other.words);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key && Arrays.equals(this.words, ((Key) obj).words);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+
+    /**
+     * This class implements a pending node of the external search.
+     */
+    private static final class Record {
+
+        /**
+         * The state of the node.
+         */
+        private final Key key;
+
+        /**
+         * The cost to reach the node from the root node.
+         */
+        private final int cost;
+
+        /**
+         * The estimated distance to the goal from the node.
+         */
+        private final int heuristic;
+
+        /**
+         * The index in the trace of the parent of the node.
+         */
+        private final int parent;
+
+        /**
+         * The operator applied to reach the node.
+         */
+        private final int operator;
+
+        /**
+         * Creates a new record.
+         *
+         * @param key       the state of the node.
+         * @param cost      the cost to reach the node from the root node.
+         * @param heuristic the estimated distance to the goal from the node.
+         * @param parent    the index in the trace of the parent of the node.
+         * @param operator  the operator applied to reach the node.
+         */
+        private Record(final Key key, final int cost, final int heuristic, final int parent, final int operator) {
+            this.key = key;
+            this.cost = cost;
+            this.heuristic = heuristic;
+            this.parent = parent;
+            this.operator = operator;
+        }
+    }
+
+    /**
+     * This class implements a run, i.e., a file of records sorted by state and cost. The first 8
+     * bytes of the file hold the number of records. The records are written and read in order
+     * through windows of the file mapped in memory, so the size of a run is not limited by the size
+     * of a mapping.
+     */
+    private final class Run {
+
+        /**
+         * The path of the file.
+         */
+        private final Path path;
+
+        /**
+         * Whether the run holds pending nodes rather than closed nodes.
+         */
+        private final boolean pending;
+
+        /**
+         * The size in bytes of a record.
+         */
+        private final int size;
+
+        /**
+         * The number of records of a window.
+         */
+        private final long records;
+
+        /**
+         * The number of records of the run.
+         */
+        private long count;
+
+        /**
+         * The index of the next record read.
+         */
+        private long index;
+
+        /**
+         * The window of the file currently mapped.
+         */
+        private MappedByteBuffer window;
+
+        /**
+         * Creates a new empty run file.
+         *
+         * @param path    the path of the file.
+         * @param pending whether the run holds pending nodes.
+         * @param size    the size in bytes of a record.
+         * @throws IOException if the file cannot be created.
+         */
+        private Run(final Path path, final boolean pending, final int size) throws IOException {
+            this.path = path;
+            this.pending = pending;
+            this.size = size;
+            this.records = Math.max(1, WINDOW / size);
+            Files.createFile(path);
+        }
+
+        /**
+         * Appends a record to the run.
+         *
+         * @return the buffer where the record is written, at the position of the record.
+         * @throws IOException if the file cannot be mapped.
+         */
+        private ByteBuffer append() throws IOException {
+            if (this.window == null || this.window.remaining() < this.size) {
+                this.map(FileChannel.MapMode.READ_WRITE, this.count, this.records);
+            }
+            this.count++;
+            return this.window;
+        }
+
+        /**
+         * Writes the number of records at the beginning of the file once all the records are
+         * appended, and truncates the file to its records: the last window mapped extended the
+         * file beyond them.
+         *
+         * @throws IOException if the file cannot be written.
+         */
+        private void close() throws IOException {
+            this.window = null;
+            try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.WRITE)) {
+                channel.truncate(8 + this.count * this.size);
+                channel.write(ByteBuffer.allocate(8).putLong(0, this.count), 0);
+            }
+        }
+
+        /**
+         * Moves the run to its first record.
+         */
+        private void rewind() {
+            this.index = 0;
+            this.window = null;
+        }
+
+        /**
+         * Returns whether there is a record left to read.
+         *
+         * @return <code>true</code> if there is a record left; <code>false</code> otherwise.
+         */
+        private boolean hasNext() {
+            return this.index < this.count;
+        }
+
+        /**
+         * Reads the next record of the run.
+         *
+         * @return the buffer where the record is read, at the position of the record.
+         * @throws IOException if the file cannot be mapped.
+         */
+        private ByteBuffer next() throws IOException {
+            if (this.window == null || this.window.remaining() < this.size) {
+                this.map(FileChannel.MapMode.READ_ONLY, this.index, Math.min(this.records, this.count - this.index));
+            }
+            this.index++;
+            return this.window;
+        }
+
+        /**
+         * Maps a window of the file.
+         *
+         * @param mode  the mode of the mapping.
+         * @param first the index of the first record of the window.
+         * @param n     the number of records of the window.
+         * @throws IOException if the file cannot be mapped.
+         */
+        private void map(final FileChannel.MapMode mode, final long first, final long n) throws IOException {
+            final StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                    ? new StandardOpenOption[] {StandardOpenOption.READ}
+                    : new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE};
+            try (FileChannel channel = FileChannel.open(this.path, options)) {
+                this.window = channel.map(mode, 8 + first * this.size, n * this.size);
+            }
+        }
+
+        /**
+         * Deletes the file of the run.
+         */
+        private void delete() {
+            this.window = null;
+            try {
+                Files.deleteIfExists(this.path);
+            } catch (IOException e) {
+                this.path.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * This class implements a cursor on a run used to merge the runs.
+     */
+    private final class Cursor {
+
+        /**
+         * The run.
+         */
+        private final Run run;
+
+        /**
+         * The key of the current record or null at the end of the run.
+         */
+        private Key key;
+
+        /**
+         * The cost of the current record.
+         */
+        private int cost;
+
+        /**
+         * The heuristic value of the current record of a run of pending nodes.
+         */
+        private int heuristic;
+
+        /**
+         * The index in the trace of the parent of the current record of a run of pending nodes.
+         */
+        private int parent;
+
+        /**
+         * The operator of the current record of a run of pending nodes.
+         */
+        private int operator;
+
+        /**
+         * Creates a new cursor before the first record of a run.
+         *
+         * @param run the run.
+         */
+        private Cursor(final Run run) {
+            this.run = run;
+            run.rewind();
+        }
+
+        /**
+         * Moves the cursor to the next record.
+         *
+         * @return <code>true</code> if there is a next record; <code>false</code> otherwise.
+         * @throws IOException if the run cannot be read.
+         */
+        private boolean next() throws IOException {
+            if (!this.run.hasNext()) {
+                this.key = null;
+                return false;
+            }
+            final ByteBuffer buffer = this.run.next();
+            this.key = ExternalAStarEngine.this.getKey(buffer);
+            this.cost = buffer.getInt();
+            if (this.run.pending) {
+                this.heuristic = buffer.getInt();
+                this.parent = buffer.getInt();
+                this.operator = buffer.getInt();
+            }
+            return true;
+        }
+
+        /**
+         * Returns the pending node of the current record.
+         *
+         * @return the pending node.
+         */
+        private Record toRecord() {
+            return new Record(this.key, this.cost, this.heuristic, this.parent, this.operator);
+        }
+    }
+
+    /**
+     * This class implements the merge of runs of pending nodes with the closed nodes. The pending
+     * nodes are returned in the order of their states, the cheapest node of each state only, and
+     * without the nodes closed with a lower or equal cost in memory or in a closed run.
+     */
+    private final class Merge {
+
+        /**
+         * The cursors on the runs of pending nodes, ordered by state and cost.
+         */
+        private final PriorityQueue<Cursor> pending;
+
+        /**
+         * The cursors on the closed runs.
+         */
+        private final List<Cursor> closed;
+
+        /**
+         * Creates a new merge of runs of pending nodes.
+         *
+         * @param runs the runs of pending nodes.
+         * @throws IOException if the runs cannot be read.
+         */
+        private Merge(final List<Run> runs) throws IOException {
+            this.pending = new PriorityQueue<>(Comparator.comparing((Cursor c) -> c.key).thenComparingInt(c -> c.cost));
+            for (Run run : runs) {
+                final Cursor cursor = new Cursor(run);
+                if (cursor.next()) {
+                    this.pending.add(cursor);
+                }
+            }
+            this.closed = new ArrayList<>();
+            for (Run run : ExternalAStarEngine.this.closedRuns) {
+                final Cursor cursor = new Cursor(run);
+                cursor.next();
+                this.closed.add(cursor);
+            }
+        }
+
+        /**
+         * Returns the next pending node of the merge.
+         *
+         * @return the next pending node or null if there is no pending node left.
+         * @throws IOException if the runs cannot be read.
+         */
+        private Record next() throws IOException {
+            while (!this.pending.isEmpty()) {
+                final Cursor cursor = this.pending.poll();
+                final Record record = cursor.toRecord();
+                if (cursor.next()) {
+                    this.pending.add(cursor);
+                }
+                // The runs and the cursors are ordered by state and cost, so the other nodes of the
+                // same state are at least as expensive
+                while (!this.pending.isEmpty() && this.pending.peek().key.equals(record.key)) {
+                    final Cursor other = this.pending.poll();
+                    if (other.next()) {
+                        this.pending.add(other);
+                    }
+                }
+                if (!this.isClosed(record)) {
+                    return record;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns whether a pending node is closed with a lower or equal cost. The pending nodes
+         * must be tested in the order of their states.
+         *
+         * @param record the pending node.
+         * @return <code>true</code> if the node is closed; <code>false</code> otherwise.
+         * @throws IOException if the closed runs cannot be read.
+         */
+        private boolean isClosed(final Record record) throws IOException {
+            final Integer cost = ExternalAStarEngine.this.close.get(record.key);
+            if (cost != null && cost <= record.cost) {
+                return true;
+            }
+            for (Cursor cursor : this.closed) {
+                while (cursor.key != null && cursor.key.compareTo(record.key) < 0) {
+                    cursor.next();
+                }
+                if (cursor.key != null && cursor.key.equals(record.key) && cursor.cost <= record.cost) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
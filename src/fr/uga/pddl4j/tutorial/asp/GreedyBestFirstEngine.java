@@ -0,0 +1,120 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.util.Plan;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * This class implements a greedy best first search (GBFS). The pending nodes are ordered by their
+ * heuristic value only, the cost to reach them being used to break ties. The children are
+ * evaluated as soon as they are generated and the goal is tested at generation, so the first plan
+ * found is returned without waiting for the goal node to reach the head of the open list.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class GreedyBestFirstEngine extends AbstractEngine {
+
+    /**
+     * The pending nodes ordered by heuristic value.
+     */
+    private final PriorityQueue<Node> open;
+
+    /**
+     * The nodes already generated.
+     */
+    private final Set<Node> close;
+
+    /**
+     * Creates a new greedy best first search.
+     *
+     * @param problem    the problem to solve.
+     * @param arguments  the arguments of the planner.
+     * @param statistics the statistics of the search.
+     */
+    GreedyBestFirstEngine(final CodedProblem problem, final Properties arguments, final SearchStatistics statistics) {
+        super(problem, arguments, statistics);
+        this.open = new PriorityQueue<>(100, Comparator.comparingInt(Node::getHeuristic).thenComparingInt(Node::getCost));
+        this.close = new HashSet<>();
+        statistics.setEngine("gbfs");
+    }
+
+    /**
+     * Creates a new greedy best first search continuing the search of another engine, within the
+     * time left to it.
+     *
+     * @param engine the engine whose search is continued.
+     */
+    GreedyBestFirstEngine(final AbstractEngine engine) {
+        super(engine);
+        this.open = new PriorityQueue<>(100, Comparator.comparingInt(Node::getHeuristic).thenComparingInt(Node::getCost));
+        this.close = new HashSet<>();
+    }
+
+    /**
+     * Searches a plan for the problem.
+     *
+     * @return the plan found or null if no plan was found.
+     */
+    @Override
+    Plan search() {
+        final Node root = this.createRoot();
+        if (this.isGoal(root)) {
+            return ASP.extractPlan(root, this.problem);
+        }
+        this.evaluate(root);
+        this.open.add(root);
+        this.close.add(root);
+        while (!this.open.isEmpty() && !this.isTimeout()) {
+            final Node current = this.open.poll();
+            for (Node next : this.expand(current, this.close::contains)) {
+                if (this.close.add(next)) {
+                    if (this.isGoal(next)) {
+                        return ASP.extractPlan(next, this.problem);
+                    }
+                    this.evaluate(next);
+                    if (!isDeadEnd(next)) {
+                        this.open.add(next);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the estimated memory used by the open and closed lists. The nodes of the open list
+     * are also in the closed list.
+     *
+     * @return the memory used in bytes.
+     */
+    @Override
+    long getMemoryUsed() {
+        return this.close.size() * (Node.SET_ENTRY + this.nodeSize) + this.open.size() * Node.QUEUE_ENTRY;
+    }
+
+    /**
+     * Returns the number of nodes waiting to be expanded.
+     *
+     * @return the size of the open list.
+     */
+    @Override
+    int getOpenSize() {
+        return this.open.size();
+    }
+
+    /**
+     * Returns the number of nodes kept to detect the duplicates.
+     *
+     * @return the size of the closed list.
+     */
+    @Override
+    int getClosedSize() {
+        return this.close.size();
+    }
+}
@@ -0,0 +1,537 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.Plan;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class implements a hash distributed A* (HDA*). The state space is split between several
+ * worker threads using the Zobrist hash of the states. Each worker owns the states of its slice
+ * and has its own open and closed lists. The children generated by a worker are sent to their
+ * owner through lock-free mailboxes, by batches, and the owner evaluates their heuristic.
+ * <p>
+ * When the weight is 1, the search does not stop on the first goal found: it goes on until no
+ * worker has a pending node that could lead to a cheaper plan than the best plan found so far, the
+ * incumbent, so that the cost of the plan returned is no worse than the cost of the incumbent when
+ * the search ends. Otherwise the first plan found is returned.
+ * </p>
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+public final class HDAStar {
+
+    /**
+     * The number of nodes buffered for a worker before the buffer is sent to its mailbox.
+     */
+    private static final int BATCH_SIZE = 64;
+
+    /**
+     * The number of expansions between two checks of the timeout and two flushes of the buffers.
+     */
+    private static final int CHECK_PERIOD = 256;
+
+    /**
+     * The problem to solve.
+     */
+    private final CodedProblem problem;
+
+    /**
+     * The name of the heuristic.
+     */
+    private final String heuristic;
+
+    /**
+     * The weight of the heuristic.
+     */
+    private final double weight;
+
+    /**
+     * The date in milliseconds after which the search is stopped.
+     */
+    private final long deadline;
+
+    /**
+     * The Zobrist table used to compute the fingerprints of the nodes and to assign them to the
+     * workers.
+     */
+    private final Zobrist zobrist;
+
+    /**
+     * The stubborn sets shared by the workers or null if the operators are not pruned.
+     */
+    private final StubbornSets stubbornSets;
+
+    /**
+     * The workers of the search.
+     */
+    private final Worker[] workers;
+
+    /**
+     * The number of batches sent to the mailboxes.
+     */
+    private final AtomicLong sent = new AtomicLong();
+
+    /**
+     * The number of batches received from the mailboxes and inserted in the open lists.
+     */
+    private final AtomicLong received = new AtomicLong();
+
+    /**
+     * The cheapest goal node found so far.
+     */
+    private final AtomicReference<Node> incumbent = new AtomicReference<>();
+
+    /**
+     * The flag used to stop all the workers.
+     */
+    private volatile boolean stop;
+
+    /**
+     * Creates a new hash distributed A* search.
+     *
+     * @param problem   the problem to solve.
+     * @param heuristic the name of the heuristic.
+     * @param weight    the weight of the heuristic.
+     * @param threads   the number of worker threads.
+     * @param timeout   the timeout of the search in milliseconds.
+     */
+    public HDAStar(final CodedProblem problem, final String heuristic, final double weight, final int threads,
+                   final long timeout) {
+        this(problem, heuristic, weight, threads, timeout, "none");
+    }
+
+    /**
+     * Creates a new hash distributed A* search with a partial order reduction.
+     *
+     * @param problem   the problem to solve.
+     * @param heuristic the name of the heuristic.
+     * @param weight    the weight of the heuristic.
+     * @param threads   the number of worker threads.
+     * @param timeout   the timeout of the search in milliseconds.
+     * @param pruning   the name of the partial order reduction: none or sss.
+     */
+    public HDAStar(final CodedProblem problem, final String heuristic, final double weight, final int threads,
+                   final long timeout, final String pruning) {
+        this.problem = problem;
+        this.heuristic = heuristic;
+        this.weight = weight;
+        this.deadline = System.currentTimeMillis() + timeout;
+        this.zobrist = new Zobrist(problem.getRelevantFacts().size(), Zobrist.DEFAULT_SEED);
+        this.stubbornSets = ASP.createStubbornSets(pruning, problem);
+        this.workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            this.workers[i] = new Worker(i);
+        }
+    }
+
+    /**
+     * Searches a plan for the problem.
+     *
+     * @return the plan found or null if no plan was found before the timeout.
+     */
+    public Plan search() {
+        final Node root = new Node(new BitState(this.problem.getInit()), null, -1, 0, 0);
+        root.setFingerprint(this.zobrist.hash(root));
+        this.workers[this.owner(root)].receive(root);
+
+        final Thread[] threads = new Thread[this.workers.length];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(this.workers[i], "hda-worker-" + i);
+            threads[i].start();
+        }
+        // On interruption, the workers are stopped and still waited for, so that their results
+        // are not read while they are running
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    this.stop = true;
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        for (Worker worker : this.workers) {
+            if (worker.failure != null) {
+                throw new RuntimeException("worker " + worker.id + " failed", worker.failure);
+            }
+        }
+        final Node goal = this.incumbent.get();
+        return goal == null ? null : ASP.extractPlan(goal, this.problem);
+    }
+
+    /**
+     * Returns the number of nodes expanded by all the workers.
+     *
+     * @return the number of nodes expanded.
+     */
+    public long getExpandedNodes() {
+        long expanded = 0;
+        for (Worker worker : this.workers) {
+            expanded += worker.expanded;
+        }
+        return expanded;
+    }
+
+    /**
+     * Returns the number of nodes generated by all the workers.
+     *
+     * @return the number of nodes generated.
+     */
+    public long getGeneratedNodes() {
+        long generated = 0;
+        for (Worker worker : this.workers) {
+            generated += worker.generated;
+        }
+        return generated;
+    }
+
+    /**
+     * Returns the number of heuristic evaluations of all the workers.
+     *
+     * @return the number of nodes evaluated.
+     */
+    public long getEvaluatedNodes() {
+        long evaluated = 0;
+        for (Worker worker : this.workers) {
+            evaluated += worker.evaluated;
+        }
+        return evaluated;
+    }
+
+    /**
+     * Returns the estimated memory used by the open and closed lists of all the workers.
+     *
+     * @return the memory used in bytes.
+     */
+    public long getMemoryUsed() {
+        final long node = Node.sizeOf(this.problem.getRelevantFacts().size());
+        long memory = 0;
+        for (Worker worker : this.workers) {
+            memory += worker.open.size() * (Node.QUEUE_ENTRY + node) + worker.close.size() * (Node.SET_ENTRY + node);
+        }
+        return memory;
+    }
+
+    /**
+     * Returns the index of the worker owning a specified node.
+     *
+     * @param node the node.
+     * @return the index of its owner.
+     */
+    private int owner(final Node node) {
+        return Zobrist.partition(node.getFingerprint(), this.workers.length);
+    }
+
+    /**
+     * Returns the value of the function f used to order the open lists.
+     *
+     * @param node the node.
+     * @return the value of f for this node.
+     */
+    private double f(final Node node) {
+        return this.weight * node.getHeuristic() + node.getCost();
+    }
+
+    /**
+     * Records a goal node if it is cheaper than the best one found so far.
+     *
+     * @param goal the goal node.
+     */
+    private void offer(final Node goal) {
+        Node best = this.incumbent.get();
+        while ((best == null || goal.getCost() < best.getCost())
+                && !this.incumbent.compareAndSet(best, goal)) {
+            best = this.incumbent.get();
+        }
+        if (this.weight != 1.0) {
+            this.stop = true;
+        }
+    }
+
+    /**
+     * Returns if a node can be pruned because it cannot lead to a plan cheaper than the best one
+     * found so far.
+     *
+     * @param node the node.
+     * @return <code>true</code> if the node can be pruned; <code>false</code> otherwise.
+     */
+    private boolean prune(final Node node) {
+        final Node best = this.incumbent.get();
+        return best != null && this.f(node) >= best.getCost();
+    }
+
+    /**
+     * Returns if the search is over, i.e., if all the workers are idle and no batch is in flight.
+     * The number of batches sent is read twice to detect a batch sent during the check.
+     *
+     * @return <code>true</code> if the search is over; <code>false</code> otherwise.
+     */
+    private boolean terminated() {
+        final long r = this.received.get();
+        final long s = this.sent.get();
+        if (r != s) {
+            return false;
+        }
+        for (Worker worker : this.workers) {
+            if (!worker.idle) {
+                return false;
+            }
+        }
+        return this.sent.get() == s;
+    }
+
+    /**
+     * This class implements a worker of the search. A worker expands the nodes of its slice of
+     * the state space.
+     */
+    private final class Worker implements Runnable {
+
+        /**
+         * The index of the worker.
+         */
+        private final int id;
+
+        /**
+         * The heuristic of the worker. The heuristics keep an internal state, so each worker has
+         * its own instance.
+         */
+        private final Heuristic heuristic;
+
+        /**
+         * The generator of the successors of the worker.
+         */
+        private final SuccessorGenerator generator;
+
+        /**
+         * The pending nodes of the worker.
+         */
+        private final PriorityQueue<Node> open;
+
+        /**
+         * The cheapest node found so far for each state owned by the worker.
+         */
+        private final Map<Node, Node> close;
+
+        /**
+         * The mailbox where the other workers put the nodes owned by this worker.
+         */
+        private final ConcurrentLinkedQueue<List<Node>> mailbox;
+
+        /**
+         * The nodes generated by this worker and waiting to be sent to their owner.
+         */
+        private final List<List<Node>> outbox;
+
+        /**
+         * The flag set when the worker has nothing left to expand.
+         */
+        private volatile boolean idle;
+
+        /**
+         * The number of nodes expanded by the worker.
+         */
+        private volatile long expanded;
+
+        /**
+         * The number of nodes generated by the worker.
+         */
+        private volatile long generated;
+
+        /**
+         * The number of heuristic evaluations of the worker.
+         */
+        private volatile long evaluated;
+
+        /**
+         * The error that stopped the worker if any.
+         */
+        private volatile Throwable failure;
+
+        /**
+         * Creates a new worker.
+         *
+         * @param id the index of the worker.
+         */
+        private Worker(final int id) {
+            this.id = id;
+            this.heuristic = ASP.createHeuristic(HDAStar.this.heuristic, HDAStar.this.problem);
+            this.generator = new SuccessorGenerator(HDAStar.this.problem, HDAStar.this.zobrist,
+                    HDAStar.this.stubbornSets);
+            this.open = new PriorityQueue<>(100, (n1, n2) -> Double.compare(f(n1), f(n2)));
+            this.close = new HashMap<>();
+            this.mailbox = new ConcurrentLinkedQueue<>();
+            this.outbox = new ArrayList<>(HDAStar.this.workers.length);
+            for (int i = 0; i < HDAStar.this.workers.length; i++) {
+                this.outbox.add(new ArrayList<>(BATCH_SIZE));
+            }
+        }
+
+        /**
+         * Runs the worker until the search is over.
+         */
+        @Override
+        public void run() {
+            try {
+                this.loop();
+            } catch (Throwable e) {
+                this.failure = e;
+                HDAStar.this.stop = true;
+            }
+        }
+
+        /**
+         * The main loop of the worker.
+         */
+        private void loop() {
+            long iterations = 0;
+            while (!HDAStar.this.stop) {
+                this.drain();
+                final Node current = this.poll();
+                if (current == null) {
+                    this.flush();
+                    this.idle = true;
+                    if (this.mailbox.isEmpty() && HDAStar.this.terminated()) {
+                        HDAStar.this.stop = true;
+                    } else {
+                        Thread.yield();
+                    }
+                    continue;
+                }
+                if (current.satisfy(HDAStar.this.problem.getGoal())) {
+                    HDAStar.this.offer(current);
+                    continue;
+                }
+                this.expand(current);
+                this.expanded++;
+                if (++iterations % CHECK_PERIOD == 0) {
+                    this.flush();
+                    if (System.currentTimeMillis() > HDAStar.this.deadline) {
+                        HDAStar.this.stop = true;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Moves the nodes received in the mailbox to the open list.
+         */
+        private void drain() {
+            List<Node> batch = this.mailbox.poll();
+            while (batch != null) {
+                this.idle = false;
+                for (Node node : batch) {
+                    this.receive(node);
+                }
+                HDAStar.this.received.incrementAndGet();
+                batch = this.mailbox.poll();
+            }
+        }
+
+        /**
+         * Inserts a node owned by the worker in its open list if no cheaper node with the same
+         * state was already found.
+         *
+         * @param node the node.
+         */
+        private void receive(final Node node) {
+            if (this.isKnown(node, node.getCost())) {
+                return;
+            }
+            node.setHeuristic(this.heuristic.estimate(node, HDAStar.this.problem.getGoal()));
+            this.evaluated++;
+            this.close.put(node, node);
+            this.open.add(node);
+        }
+
+        /**
+         * Returns the next node to expand or null if the worker has no node that can improve the
+         * best plan found so far.
+         *
+         * @return the next node to expand.
+         */
+        private Node poll() {
+            Node node = this.open.poll();
+            // The nodes superseded by a cheaper node with the same state are skipped
+            while (node != null && (this.close.get(node) != node || HDAStar.this.prune(node))) {
+                node = this.open.poll();
+            }
+            return node;
+        }
+
+        /**
+         * Expands a node and sends its children to their owner.
+         *
+         * @param current the node to expand.
+         */
+        private void expand(final Node current) {
+            final int cost = current.getCost() + 1;
+            final List<Node> children = this.generator.expand(current,
+                    n -> HDAStar.this.owner(n) == this.id && this.isKnown(n, cost));
+            this.generated += this.generator.getGenerated();
+            for (Node next : children) {
+                final int owner = HDAStar.this.owner(next);
+                if (owner == this.id) {
+                    this.receive(next);
+                } else {
+                    final List<Node> buffer = this.outbox.get(owner);
+                    buffer.add(next);
+                    if (buffer.size() >= BATCH_SIZE) {
+                        this.send(owner);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns if a node owned by the worker was already found with a lower or equal cost.
+         *
+         * @param node the node.
+         * @param cost the cost of the node.
+         * @return <code>true</code> if the node is a duplicate; <code>false</code> otherwise.
+         */
+        private boolean isKnown(final Node node, final int cost) {
+            final Node old = this.close.get(node);
+            return old != null && old.getCost() <= cost;
+        }
+
+        /**
+         * Sends the buffered nodes of all the workers.
+         */
+        private void flush() {
+            for (int i = 0; i < this.outbox.size(); i++) {
+                if (!this.outbox.get(i).isEmpty()) {
+                    this.send(i);
+                }
+            }
+        }
+
+        /**
+         * Sends the buffered nodes of a worker to its mailbox. The batch is counted before being
+         * published so that the termination detection never misses it.
+         *
+         * @param owner the index of the worker.
+         */
+        private void send(final int owner) {
+            final List<Node> batch = this.outbox.get(owner);
+            this.outbox.set(owner, new ArrayList<>(BATCH_SIZE));
+            HDAStar.this.sent.incrementAndGet();
+            HDAStar.this.workers[owner].mailbox.offer(batch);
+        }
+    }
+}
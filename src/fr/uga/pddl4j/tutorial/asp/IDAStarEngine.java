@@ -0,0 +1,223 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.planners.statespace.StateSpacePlanner;
+import fr.uga.pddl4j.util.Plan;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * This class implements a weighted iterative deepening A* (IDA*). Each iteration is a depth first
+ * search that cuts the nodes whose value of f = g + w * h exceeds a bound, the bound of the next
+ * iteration being the lowest value of f cut. The nodes already visited during an iteration with a
+ * lower or equal cost are pruned thanks to a transposition table of fixed size, indexed by the
+ * fingerprint of the nodes, whose size is given by the option -m. The memory used by the search
+ * only depends on this table and on the depth of the plan.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class IDAStarEngine extends AbstractEngine {
+
+    /**
+     * The number of bytes of an entry of the transposition table.
+     */
+    private static final int ENTRY_SIZE = 16;
+
+    /**
+     * The default number of entries of the transposition table.
+     */
+    private static final int DEFAULT_ENTRIES = 1 << 20;
+
+    /**
+     * The weight of the heuristic.
+     */
+    private final double weight;
+
+    /**
+     * The fingerprints of the transposition table.
+     */
+    private final long[] keys;
+
+    /**
+     * The cost of the nodes of the transposition table.
+     */
+    private final int[] costs;
+
+    /**
+     * The iteration during which each entry of the transposition table was written.
+     */
+    private final int[] iterations;
+
+    /**
+     * The current iteration.
+     */
+    private int iteration;
+
+    /**
+     * The lowest value of f of the nodes cut during the current iteration.
+     */
+    private double next;
+
+    /**
+     * The children of the nodes of the current path that remain to be visited.
+     */
+    private final Deque<Iterator<Node>> stack;
+
+    /**
+     * Creates a new weighted IDA* search.
+     *
+     * @param problem    the problem to solve.
+     * @param arguments  the arguments of the planner.
+     * @param statistics the statistics of the search.
+     */
+    IDAStarEngine(final CodedProblem problem, final Properties arguments, final SearchStatistics statistics) {
+        super(problem, arguments, statistics);
+        this.weight = (double) arguments.get(StateSpacePlanner.WEIGHT);
+        final long memory = (long) arguments.get("memory");
+        final long entries = memory > 0 ? Math.min(1L << 30, Math.max(1024L, memory / ENTRY_SIZE)) : DEFAULT_ENTRIES;
+        final int size = (int) Long.highestOneBit(entries);
+        this.keys = new long[size];
+        this.costs = new int[size];
+        this.iterations = new int[size];
+        this.stack = new ArrayDeque<>();
+        statistics.setEngine("ida");
+    }
+
+    /**
+     * Searches a plan for the problem.
+     *
+     * @return the plan found or null if no plan was found.
+     */
+    @Override
+    Plan search() {
+        final Node root = this.createRoot();
+        this.evaluate(root);
+        if (isDeadEnd(root)) {
+            return null;
+        }
+        double bound = this.f(root);
+        while (!this.isTimeout()) {
+            this.iteration++;
+            this.next = Double.POSITIVE_INFINITY;
+            this.stack.clear();
+            this.isKnown(root, 0);
+            Node goal = this.isGoal(root) ? root : null;
+            if (goal == null) {
+                this.stack.push(this.children(root, bound));
+            }
+            while (goal == null && !this.stack.isEmpty() && !this.isTimeout()) {
+                final Iterator<Node> it = this.stack.peek();
+                if (!it.hasNext()) {
+                    this.stack.pop();
+                } else {
+                    final Node node = it.next();
+                    if (this.isGoal(node)) {
+                        goal = node;
+                    } else {
+                        this.stack.push(this.children(node, bound));
+                    }
+                }
+            }
+            if (goal != null) {
+                return ASP.extractPlan(goal, this.problem);
+            }
+            if (this.next == Double.POSITIVE_INFINITY) {
+                return null;
+            }
+            bound = this.next;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the memory used by the transposition table.
+     *
+     * @return the memory used in bytes.
+     */
+    @Override
+    long getMemoryUsed() {
+        return (long) ENTRY_SIZE * this.keys.length;
+    }
+
+    /**
+     * Returns the depth of the current path.
+     *
+     * @return the depth of the current path.
+     */
+    @Override
+    int getOpenSize() {
+        return this.stack.size();
+    }
+
+    /**
+     * Returns 0 as the duplicates are detected with a transposition table of fixed size.
+     *
+     * @return the size of the closed list.
+     */
+    @Override
+    int getClosedSize() {
+        return 0;
+    }
+
+    /**
+     * Returns the children of a node whose value of f does not exceed the bound, best first.
+     *
+     * @param node  the node to expand.
+     * @param bound the bound of the current iteration.
+     * @return the children to visit.
+     */
+    private Iterator<Node> children(final Node node, final double bound) {
+        final int cost = node.getCost() + 1;
+        final List<Node> children = this.expand(node, n -> this.isKnown(n, cost));
+        children.removeIf(child -> {
+            this.evaluate(child);
+            if (isDeadEnd(child)) {
+                return true;
+            }
+            final double f = this.f(child);
+            if (f > bound) {
+                this.next = Math.min(this.next, f);
+                return true;
+            }
+            return false;
+        });
+        children.sort(Comparator.comparingInt(Node::getHeuristic));
+        return children.iterator();
+    }
+
+    /**
+     * Returns if a node was already visited during the current iteration with a lower or equal
+     * cost, and records its cost otherwise.
+     *
+     * @param node the node.
+     * @param cost the cost of the node.
+     * @return <code>true</code> if the node can be pruned; <code>false</code> otherwise.
+     */
+    private boolean isKnown(final Node node, final int cost) {
+        final long fingerprint = node.getFingerprint();
+        final int slot = (int) (fingerprint ^ (fingerprint >>> 32)) & (this.keys.length - 1);
+        if (this.iterations[slot] == this.iteration && this.keys[slot] == fingerprint && this.costs[slot] <= cost) {
+            return true;
+        }
+        this.keys[slot] = fingerprint;
+        this.costs[slot] = cost;
+        this.iterations[slot] = this.iteration;
+        return false;
+    }
+
+    /**
+     * Returns the value of the function f of a node.
+     *
+     * @param node the evaluated node.
+     * @return the value of f.
+     */
+    private double f(final Node node) {
+        return this.weight * node.getHeuristic() + node.getCost();
+    }
+}
@@ -0,0 +1,581 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.CondBitExp;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class implements the additive heuristic and the fast forward heuristic with an incremental
+ * computation of the cost of the facts in the relaxed problem. The cost of a fact is 0 if it is
+ * true in the state and the lowest cost of its achievers otherwise, the cost of an achiever being 1
+ * plus the sum of the costs of its preconditions. The additive heuristic is the sum of the costs of
+ * the goals and the fast forward heuristic the number of operators of the relaxed plan extracted by
+ * following the cheapest achievers of the goals.
+ * <p>
+ * The costs of the facts of the last nodes evaluated are kept in a cache. The costs of a node are
+ * computed from the costs of its parent, or from the costs of the last node evaluated if the ones
+ * of its parent are no longer in the cache, by updating only the facts affected by the facts that
+ * changed between the two states, as in the dynamic shortest path algorithms: the facts whose cost
+ * depended on a deleted fact are first invalidated, then the costs that decrease are propagated in
+ * the order of their value from the invalidated facts and the facts added.
+ * </p>
+ * <p>
+ * An instance keeps the costs computed, so it must not be shared between threads.
+ * </p>
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+public final class IncrementalRelaxationHeuristic implements Heuristic {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The cost of an unreachable fact or action.
+     */
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    /**
+     * The number of cost tables kept in the cache.
+     */
+    private static final int CACHE_SIZE = 1024;
+
+    /**
+     * The flag telling if the estimate is the length of the relaxed plan or the sum of the costs of
+     * the goals.
+     */
+    private final boolean relaxedPlan;
+
+    /**
+     * The number of relevant facts of the problem.
+     */
+    private final int facts;
+
+    /**
+     * The preconditions of each relaxed action. There is one relaxed action per conditional effect.
+     */
+    private final int[][] preconditions;
+
+    /**
+     * The facts added by each relaxed action.
+     */
+    private final int[][] effects;
+
+    /**
+     * The operator of each relaxed action.
+     */
+    private final int[] operators;
+
+    /**
+     * The relaxed actions having each fact as precondition.
+     */
+    private final int[][] consumers;
+
+    /**
+     * The relaxed actions adding each fact.
+     */
+    private final int[][] achievers;
+
+    /**
+     * The cost tables of the last nodes evaluated, by fingerprint. The entries hold a copy of the
+     * states, so the cache does not keep the nodes and their ancestors alive.
+     */
+    private final LinkedHashMap<Long, Entry> cache;
+
+    /**
+     * The cost table of the last node evaluated.
+     */
+    private Entry lastEntry;
+
+    /**
+     * The heap of the facts whose cost decreased, ordered by cost. Each entry is the cost shifted
+     * to the high bits and the fact in the low bits.
+     */
+    private long[] heap;
+
+    /**
+     * The number of entries of the heap.
+     */
+    private int size;
+
+    /**
+     * Creates a new incremental relaxation heuristic.
+     *
+     * @param problem     the problem.
+     * @param relaxedPlan <code>true</code> for the fast forward heuristic, <code>false</code> for the
+     *                    additive heuristic.
+     */
+    public IncrementalRelaxationHeuristic(final CodedProblem problem, final boolean relaxedPlan) {
+        this.relaxedPlan = relaxedPlan;
+        this.facts = problem.getRelevantFacts().size();
+        final List<BitOp> ops = problem.getOperators();
+        final List<int[]> pre = new ArrayList<>();
+        final List<int[]> eff = new ArrayList<>();
+        final List<Integer> op = new ArrayList<>();
+        for (int i = 0; i < ops.size(); i++) {
+            for (CondBitExp ce : ops.get(i).getCondEffects()) {
+                final BitSet p = new BitSet(this.facts);
+                p.or(ops.get(i).getPreconditions().getPositive());
+                p.or(ce.getCondition().getPositive());
+                pre.add(p.stream().toArray());
+                eff.add(ce.getEffects().getPositive().stream().toArray());
+                op.add(i);
+            }
+        }
+        this.preconditions = pre.toArray(new int[0][]);
+        this.effects = eff.toArray(new int[0][]);
+        this.operators = op.stream().mapToInt(Integer::intValue).toArray();
+        this.consumers = index(this.preconditions, this.facts);
+        this.achievers = index(this.effects, this.facts);
+        this.cache = new LinkedHashMap<Long, Entry>(CACHE_SIZE * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, Entry> eldest) {
+                return this.size() > CACHE_SIZE;
+            }
+        };
+        this.heap = new long[64];
+    }
+
+    /**
+     * Returns the estimated distance to the goal from a state.
+     *
+     * @param state the state.
+     * @param goal  the goal of the problem.
+     * @return the estimated distance to the goal or <code>Integer.MAX_VALUE</code> if the goal cannot
+     *      be reached.
+     */
+    @Override
+    public int estimate(final BitState state, final BitExp goal) {
+        Entry entry = this.lookup(state);
+        if (entry == null) {
+            Entry base = null;
+            if (state instanceof Node && ((Node) state).getParent() != null) {
+                base = this.lookup(((Node) state).getParent());
+            }
+            if (base == null) {
+                base = this.lastEntry;
+            }
+            final int[] costs = base == null ? this.compute(state) : this.update(base.state, base.costs, state);
+            entry = this.store(state, costs);
+        }
+        this.lastEntry = entry;
+        if (!this.relaxedPlan) {
+            return this.sum(goal, entry.costs);
+        }
+        final int h = this.relaxedPlanLength(state, goal, entry.costs);
+        if (h >= 0) {
+            return h;
+        }
+        // A fact to reach has no achiever in the costs updated: they are computed from scratch
+        this.lastEntry = this.store(state, this.compute(state));
+        return this.relaxedPlanLength(state, goal, this.lastEntry.costs);
+    }
+
+    /**
+     * Returns the entry of the cache of a state.
+     *
+     * @param state the state.
+     * @return the entry of the state or null if the state is not in the cache.
+     */
+    private Entry lookup(final BitState state) {
+        final Entry entry = this.cache.get(IncrementalRelaxationHeuristic.fingerprint(state));
+        return entry != null && entry.state.equals(state) ? entry : null;
+    }
+
+    /**
+     * Stores the costs of the facts in a state in the cache.
+     *
+     * @param state the state.
+     * @param costs the costs of the facts in the state.
+     * @return the entry of the state.
+     */
+    private Entry store(final BitState state, final int[] costs) {
+        final Entry entry = new Entry(new BitState(state), costs);
+        this.cache.put(IncrementalRelaxationHeuristic.fingerprint(state), entry);
+        return entry;
+    }
+
+    /**
+     * Returns the fingerprint of a state: the Zobrist fingerprint of the nodes of the ASP planner
+     * and the hash code of the other states.
+     *
+     * @param state the state.
+     * @return the fingerprint of the state.
+     */
+    private static long fingerprint(final BitState state) {
+        return state instanceof Node ? ((Node) state).getFingerprint() : state.hashCode();
+    }
+
+    /**
+     * Returns the estimated distance to the goal from a node of the search strategies of PDDL4J.
+     *
+     * @param node the node.
+     * @param goal the goal of the problem.
+     * @return the estimated distance to the goal.
+     */
+    @Override
+    public double estimate(final fr.uga.pddl4j.planners.statespace.search.strategy.Node node, final BitExp goal) {
+        return this.estimate((BitState) node, goal);
+    }
+
+    /**
+     * Returns if the heuristic is admissible. The additive and fast forward heuristics are not
+     * admissible.
+     *
+     * @return <code>false</code>.
+     */
+    @Override
+    public boolean isAdmissible() {
+        return false;
+    }
+
+    /**
+     * Computes from scratch the costs of the facts in a state.
+     *
+     * @param state the state.
+     * @return the costs of the facts.
+     */
+    private int[] compute(final BitState state) {
+        final int[] costs = new int[this.facts];
+        Arrays.fill(costs, INFINITY);
+        for (int p = state.nextSetBit(0); p >= 0; p = state.nextSetBit(p + 1)) {
+            costs[p] = 0;
+            this.push(p, 0);
+        }
+        for (int a = 0; a < this.preconditions.length; a++) {
+            if (this.preconditions[a].length == 0) {
+                this.relax(a, 1, costs);
+            }
+        }
+        this.propagate(costs);
+        return costs;
+    }
+
+    /**
+     * Computes the costs of the facts in a state from the costs of the facts in another state.
+     *
+     * @param base      the state whose costs are known.
+     * @param baseCosts the costs of the facts in the base state.
+     * @param state     the state whose costs are computed.
+     * @return the costs of the facts in the state.
+     */
+    private int[] update(final BitState base, final int[] baseCosts, final BitState state) {
+        final int[] costs = baseCosts.clone();
+        final BitSet changed = new BitSet(this.facts);
+        changed.or(base);
+        changed.xor(state);
+        // The facts deleted and the facts whose cost depended on them are invalidated
+        final BitSet invalid = new BitSet(this.facts);
+        final int[] queue = new int[this.facts];
+        int tail = 0;
+        for (int p = changed.nextSetBit(0); p >= 0; p = changed.nextSetBit(p + 1)) {
+            if (!state.get(p)) {
+                invalid.set(p);
+                queue[tail++] = p;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            for (int a : this.consumers[queue[head]]) {
+                final int cost = this.cost(a, costs);
+                for (int q : this.effects[a]) {
+                    if (costs[q] == cost && !state.get(q) && !invalid.get(q) && !this.isSupported(q, costs, invalid)) {
+                        invalid.set(q);
+                        queue[tail++] = q;
+                    }
+                }
+            }
+        }
+        // The invalidated facts get the cost of their best achiever that is not invalidated
+        for (int p = invalid.nextSetBit(0); p >= 0; p = invalid.nextSetBit(p + 1)) {
+            costs[p] = INFINITY;
+        }
+        for (int p = invalid.nextSetBit(0); p >= 0; p = invalid.nextSetBit(p + 1)) {
+            for (int a : this.achievers[p]) {
+                final int cost = this.cost(a, costs);
+                if (cost < costs[p]) {
+                    costs[p] = cost;
+                }
+            }
+            if (costs[p] != INFINITY) {
+                this.push(p, costs[p]);
+            }
+        }
+        // The facts added cost nothing
+        for (int p = changed.nextSetBit(0); p >= 0; p = changed.nextSetBit(p + 1)) {
+            if (state.get(p)) {
+                costs[p] = 0;
+                this.push(p, 0);
+            }
+        }
+        this.propagate(costs);
+        return costs;
+    }
+
+    /**
+     * Returns if a fact has an achiever whose preconditions are not invalidated and whose cost is
+     * the cost of the fact.
+     *
+     * @param fact    the fact.
+     * @param costs   the costs of the facts.
+     * @param invalid the facts invalidated.
+     * @return <code>true</code> if the cost of the fact is still supported; <code>false</code>
+     *      otherwise.
+     */
+    private boolean isSupported(final int fact, final int[] costs, final BitSet invalid) {
+        for (int a : this.achievers[fact]) {
+            boolean valid = true;
+            for (int p : this.preconditions[a]) {
+                if (invalid.get(p)) {
+                    valid = false;
+                    break;
+                }
+            }
+            if (valid && this.cost(a, costs) == costs[fact]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Propagates the decreases of the costs of the facts of the heap.
+     *
+     * @param costs the costs of the facts.
+     */
+    private void propagate(final int[] costs) {
+        while (this.size > 0) {
+            final long entry = this.pop();
+            final int p = (int) entry;
+            if ((int) (entry >>> 32) != costs[p]) {
+                continue;
+            }
+            for (int a : this.consumers[p]) {
+                final int cost = this.cost(a, costs);
+                if (cost != INFINITY) {
+                    this.relax(a, cost, costs);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lowers the cost of the facts added by a relaxed action to the cost of the action.
+     *
+     * @param action the relaxed action.
+     * @param cost   the cost of the action.
+     * @param costs  the costs of the facts.
+     */
+    private void relax(final int action, final int cost, final int[] costs) {
+        for (int q : this.effects[action]) {
+            if (cost < costs[q]) {
+                costs[q] = cost;
+                this.push(q, cost);
+            }
+        }
+    }
+
+    /**
+     * Returns the cost of a relaxed action, i.e., 1 plus the sum of the costs of its preconditions.
+     *
+     * @param action the relaxed action.
+     * @param costs  the costs of the facts.
+     * @return the cost of the action or <code>INFINITY</code> if a precondition is unreachable.
+     */
+    private int cost(final int action, final int[] costs) {
+        long cost = 1;
+        for (int p : this.preconditions[action]) {
+            if (costs[p] == INFINITY) {
+                return INFINITY;
+            }
+            cost += costs[p];
+        }
+        return (int) Math.min(cost, INFINITY - 1);
+    }
+
+    /**
+     * Returns the sum of the costs of the goals.
+     *
+     * @param goal  the goal.
+     * @param costs the costs of the facts.
+     * @return the sum of the costs of the goals or <code>Integer.MAX_VALUE</code> if a goal is
+     *      unreachable.
+     */
+    private int sum(final BitExp goal, final int[] costs) {
+        final BitVector positive = goal.getPositive();
+        long h = 0;
+        for (int g = positive.nextSetBit(0); g >= 0; g = positive.nextSetBit(g + 1)) {
+            if (costs[g] == INFINITY) {
+                return Integer.MAX_VALUE;
+            }
+            h += costs[g];
+        }
+        return (int) Math.min(h, Integer.MAX_VALUE - 1);
+    }
+
+    /**
+     * Returns the number of operators of the relaxed plan reaching the goal, built by following the
+     * cheapest achiever of each fact to reach.
+     *
+     * @param state the state.
+     * @param goal  the goal.
+     * @param costs the costs of the facts.
+     * @return the number of operators of the relaxed plan, <code>Integer.MAX_VALUE</code> if a goal
+     *      is unreachable or -1 if a fact to reach has no achiever with a finite cost.
+     */
+    private int relaxedPlanLength(final BitState state, final BitExp goal, final int[] costs) {
+        final BitSet reached = new BitSet(this.facts);
+        final BitSet plan = new BitSet();
+        final int[] stack = new int[this.facts];
+        int top = 0;
+        final BitVector positive = goal.getPositive();
+        for (int g = positive.nextSetBit(0); g >= 0; g = positive.nextSetBit(g + 1)) {
+            if (costs[g] == INFINITY) {
+                return Integer.MAX_VALUE;
+            }
+            if (!state.get(g) && !reached.get(g)) {
+                reached.set(g);
+                stack[top++] = g;
+            }
+        }
+        while (top > 0) {
+            final int q = stack[--top];
+            int best = -1;
+            int min = INFINITY;
+            for (int a : this.achievers[q]) {
+                final int cost = this.cost(a, costs);
+                if (cost < min) {
+                    best = a;
+                    min = cost;
+                }
+            }
+            if (best == -1) {
+                return -1;
+            }
+            plan.set(this.operators[best]);
+            for (int p : this.preconditions[best]) {
+                if (!state.get(p) && !reached.get(p)) {
+                    reached.set(p);
+                    stack[top++] = p;
+                }
+            }
+        }
+        return plan.cardinality();
+    }
+
+    /**
+     * Pushes a fact in the heap.
+     *
+     * @param fact the fact.
+     * @param cost the cost of the fact.
+     */
+    private void push(final int fact, final int cost) {
+        if (this.size == this.heap.length) {
+            this.heap = Arrays.copyOf(this.heap, this.size * 2);
+        }
+        final long entry = ((long) cost << 32) | fact;
+        int i = this.size++;
+        while (i > 0 && this.heap[(i - 1) / 2] > entry) {
+            this.heap[i] = this.heap[(i - 1) / 2];
+            i = (i - 1) / 2;
+        }
+        this.heap[i] = entry;
+    }
+
+    /**
+     * Removes the entry of the heap with the lowest cost.
+     *
+     * @return the entry removed.
+     */
+    private long pop() {
+        final long entry = this.heap[0];
+        final long last = this.heap[--this.size];
+        int i = 0;
+        while (2 * i + 1 < this.size) {
+            int child = 2 * i + 1;
+            if (child + 1 < this.size && this.heap[child + 1] < this.heap[child]) {
+                child++;
+            }
+            if (this.heap[child] >= last) {
+                break;
+            }
+            this.heap[i] = this.heap[child];
+            i = child;
+        }
+        this.heap[i] = last;
+        return entry;
+    }
+
+    /**
+     * Builds the index giving for each fact the relaxed actions whose list contains it.
+     *
+     * @param lists the list of facts of each relaxed action.
+     * @param facts the number of facts.
+     * @return the relaxed actions of each fact.
+     */
+    private static int[][] index(final int[][] lists, final int facts) {
+        final int[] counts = new int[facts];
+        for (int[] list : lists) {
+            for (int p : list) {
+                counts[p]++;
+            }
+        }
+        final int[][] index = new int[facts][];
+        for (int p = 0; p < facts; p++) {
+            index[p] = new int[counts[p]];
+        }
+        for (int a = lists.length - 1; a >= 0; a--) {
+            for (int p : lists[a]) {
+                index[p][--counts[p]] = a;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * This class implements an entry of the cache, i.e., a copy of a state and the costs of the
+     * facts in this state.
+     */
+    private static final class Entry implements Serializable {
+
+        /**
+         * The serial id of the class.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The copy of the state.
+         */
+        private final BitState state;
+
+        /**
+         * The costs of the facts in the state.
+         */
+        private final int[] costs;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param state the copy of the state.
+         * @param costs the costs of the facts in the state.
+         */
+        private Entry(final BitState state, final int[] costs) {
+            this.state = state;
+            this.costs = costs;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.heuristics.relaxation.Heuristic;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.CondBitExp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * This class implements the landmark-count heuristic. The fact landmarks of the problem and their
+ * orderings are extracted once, when the heuristic is created, by propagating the landmarks of
+ * each fact in the relaxed planning graph: a fact is a landmark of another fact if it is a
+ * landmark of all its achievers. A landmark is ordered before the facts it is a landmark of.
+ * <p>
+ * Each node keeps the set of the landmarks accepted on the path that leads to it. A landmark is
+ * accepted when it becomes true and all the landmarks ordered before it were accepted. The set of
+ * a node is computed from the set of its parent and the add effects of the operator that leads to
+ * the node, so the evaluation of a node only depends on the facts that changed. The estimate is
+ * the number of landmarks not yet accepted plus the number of accepted goals that are no longer
+ * true.
+ * </p>
+ * <p>
+ * The landmarks are extracted for the goal of the problem: the goal given to {@link #estimate} is
+ * expected to be this goal.
+ * </p>
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+public final class LandmarkHeuristic implements Heuristic {
+
+    /**
+     * The serial id of the class.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The landmark index of each fact or -1 if the fact is not a landmark.
+     */
+    private final int[] landmarkOfFact;
+
+    /**
+     * The fact of each landmark.
+     */
+    private final int[] factOfLandmark;
+
+    /**
+     * The landmarks ordered before each landmark.
+     */
+    private final BitSet[] predecessors;
+
+    /**
+     * The facts added by each operator.
+     */
+    private final int[][] adds;
+
+    /**
+     * The goal facts.
+     */
+    private final int[] goals;
+
+    /**
+     * The flag set when a goal is not reachable in the relaxed problem.
+     */
+    private final boolean unsolvable;
+
+    /**
+     * Creates a new landmark-count heuristic for a specified problem.
+     *
+     * @param problem the problem.
+     */
+    public LandmarkHeuristic(final CodedProblem problem) {
+        final int facts = problem.getRelevantFacts().size();
+        final List<BitOp> operators = problem.getOperators();
+
+        // We split the operators into relaxed actions, one for each conditional effect
+        final List<BitSet> preconditions = new ArrayList<>();
+        final List<BitSet> effects = new ArrayList<>();
+        this.adds = new int[operators.size()][];
+        for (int i = 0; i < operators.size(); i++) {
+            final BitOp op = operators.get(i);
+            final BitSet added = new BitSet(facts);
+            for (CondBitExp ce : op.getCondEffects()) {
+                final BitSet pre = new BitSet(facts);
+                pre.or(op.getPreconditions().getPositive());
+                pre.or(ce.getCondition().getPositive());
+                preconditions.add(pre);
+                effects.add(ce.getEffects().getPositive());
+                added.or(ce.getEffects().getPositive());
+            }
+            this.adds[i] = added.stream().toArray();
+        }
+
+        // We compute the landmarks of each fact until a fixed point is reached
+        final BitSet[] landmarks = new BitSet[facts];
+        final BitVector init = new BitState(problem.getInit());
+        for (int p = init.nextSetBit(0); p >= 0; p = init.nextSetBit(p + 1)) {
+            landmarks[p] = new BitSet(facts);
+            landmarks[p].set(p);
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int a = 0; a < preconditions.size(); a++) {
+                final BitSet pre = preconditions.get(a);
+                final BitSet union = new BitSet(facts);
+                boolean reached = true;
+                for (int q = pre.nextSetBit(0); q >= 0 && reached; q = pre.nextSetBit(q + 1)) {
+                    if (landmarks[q] == null) {
+                        reached = false;
+                    } else {
+                        union.or(landmarks[q]);
+                    }
+                }
+                if (!reached) {
+                    continue;
+                }
+                final BitSet add = effects.get(a);
+                for (int p = add.nextSetBit(0); p >= 0; p = add.nextSetBit(p + 1)) {
+                    final BitSet candidate = (BitSet) union.clone();
+                    candidate.set(p);
+                    if (landmarks[p] == null) {
+                        landmarks[p] = candidate;
+                        changed = true;
+                    } else {
+                        final int before = landmarks[p].cardinality();
+                        landmarks[p].and(candidate);
+                        changed |= landmarks[p].cardinality() != before;
+                    }
+                }
+            }
+        }
+
+        // The landmarks of the problem are the landmarks of its goals
+        final BitVector goal = problem.getGoal().getPositive();
+        final BitSet all = new BitSet(facts);
+        boolean unreachable = false;
+        this.goals = goal.stream().toArray();
+        for (int g : this.goals) {
+            if (landmarks[g] == null) {
+                unreachable = true;
+            } else {
+                all.or(landmarks[g]);
+            }
+        }
+        this.unsolvable = unreachable;
+        this.landmarkOfFact = new int[facts];
+        Arrays.fill(this.landmarkOfFact, -1);
+        this.factOfLandmark = all.stream().toArray();
+        for (int l = 0; l < this.factOfLandmark.length; l++) {
+            this.landmarkOfFact[this.factOfLandmark[l]] = l;
+        }
+        this.predecessors = new BitSet[this.factOfLandmark.length];
+        for (int l = 0; l < this.factOfLandmark.length; l++) {
+            final int p = this.factOfLandmark[l];
+            this.predecessors[l] = new BitSet(this.factOfLandmark.length);
+            for (int q = landmarks[p].nextSetBit(0); q >= 0; q = landmarks[p].nextSetBit(q + 1)) {
+                if (q != p && this.landmarkOfFact[q] != -1) {
+                    this.predecessors[l].set(this.landmarkOfFact[q]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of landmarks of the problem.
+     *
+     * @return the number of landmarks.
+     */
+    public int getLandmarks() {
+        return this.factOfLandmark.length;
+    }
+
+    /**
+     * Returns the estimated distance to the goal from a state. If the state is a node whose parent
+     * was evaluated by this heuristic, the landmarks accepted in the node are computed from the
+     * ones of its parent. Otherwise, the state is considered as the root of the search.
+     *
+     * @param state the state.
+     * @param goal  the goal of the problem.
+     * @return the number of landmarks still to reach or <code>Integer.MAX_VALUE</code> if the
+     *      goal cannot be reached.
+     */
+    @Override
+    public int estimate(final BitState state, final BitExp goal) {
+        if (this.unsolvable) {
+            return Integer.MAX_VALUE;
+        }
+        final BitSet accepted;
+        if (state instanceof Node) {
+            final Node node = (Node) state;
+            final Node parent = node.getParent();
+            if (parent != null && parent.getLandmarks() != null && node.getOperator() != -1) {
+                accepted = this.accept(node, parent.getLandmarks(), this.adds[node.getOperator()]);
+            } else {
+                accepted = this.accept(state);
+            }
+            node.setLandmarks(accepted);
+        } else {
+            accepted = this.accept(state);
+        }
+        int h = this.factOfLandmark.length - accepted.cardinality();
+        for (int g : this.goals) {
+            // An accepted goal that is no longer true must be reached again
+            if (!state.get(g) && accepted.get(this.landmarkOfFact[g])) {
+                h++;
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Returns the estimated distance to the goal from a node of the search strategies of PDDL4J.
+     *
+     * @param node the node.
+     * @param goal the goal of the problem.
+     * @return the number of landmarks still to reach.
+     */
+    @Override
+    public double estimate(final fr.uga.pddl4j.planners.statespace.search.strategy.Node node, final BitExp goal) {
+        return this.estimate((BitState) node, goal);
+    }
+
+    /**
+     * Returns if the heuristic is admissible. The landmark-count heuristic is not admissible.
+     *
+     * @return <code>false</code>.
+     */
+    @Override
+    public boolean isAdmissible() {
+        return false;
+    }
+
+    /**
+     * Computes the landmarks accepted in a node from the ones of its parent. Only the facts added
+     * by the operator can be newly accepted. The set of the parent is shared when no landmark is
+     * newly accepted.
+     *
+     * @param node     the node.
+     * @param previous the landmarks accepted in the parent of the node.
+     * @param added    the facts added by the operator leading to the node.
+     * @return the landmarks accepted in the node.
+     */
+    private BitSet accept(final BitState node, final BitSet previous, final int[] added) {
+        BitSet accepted = previous;
+        for (int p : added) {
+            final int l = this.landmarkOfFact[p];
+            if (l != -1 && node.get(p) && !previous.get(l) && this.isReady(l, previous)) {
+                if (accepted == previous) {
+                    accepted = (BitSet) previous.clone();
+                }
+                accepted.set(l);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Computes the landmarks accepted in a state considered as the root of the search: all the
+     * landmarks true in the state are accepted.
+     *
+     * @param state the state.
+     * @return the landmarks accepted in the state.
+     */
+    private BitSet accept(final BitState state) {
+        final BitSet accepted = new BitSet(this.factOfLandmark.length);
+        for (int l = 0; l < this.factOfLandmark.length; l++) {
+            if (state.get(this.factOfLandmark[l])) {
+                accepted.set(l);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Returns if all the landmarks ordered before a landmark are accepted.
+     *
+     * @param landmark the landmark.
+     * @param accepted the landmarks accepted.
+     * @return <code>true</code> if the landmark can be accepted; <code>false</code> otherwise.
+     */
+    private boolean isReady(final int landmark, final BitSet accepted) {
+        final BitSet required = this.predecessors[landmark];
+        for (int l = required.nextSetBit(0); l >= 0; l = required.nextSetBit(l + 1)) {
+            if (!accepted.get(l)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
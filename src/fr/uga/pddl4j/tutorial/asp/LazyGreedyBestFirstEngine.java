@@ -0,0 +1,106 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.util.Plan;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * This class implements a lazy greedy best first search. The children of a node are inserted in
+ * the open list with the heuristic value of their parent and are only evaluated when they are
+ * selected for expansion. On problems with a large branching factor, this saves the evaluation of
+ * most of the generated nodes.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class LazyGreedyBestFirstEngine extends AbstractEngine {
+
+    /**
+     * The pending nodes ordered by the heuristic value of their parent.
+     */
+    private final PriorityQueue<Node> open;
+
+    /**
+     * The nodes already expanded.
+     */
+    private final Set<Node> close;
+
+    /**
+     * Creates a new lazy greedy best first search.
+     *
+     * @param problem    the problem to solve.
+     * @param arguments  the arguments of the planner.
+     * @param statistics the statistics of the search.
+     */
+    LazyGreedyBestFirstEngine(final CodedProblem problem, final Properties arguments,
+                              final SearchStatistics statistics) {
+        super(problem, arguments, statistics);
+        this.open = new PriorityQueue<>(100, Comparator.comparingInt(Node::getHeuristic).thenComparingInt(Node::getCost));
+        this.close = new HashSet<>();
+        statistics.setEngine("lazy");
+    }
+
+    /**
+     * Searches a plan for the problem.
+     *
+     * @return the plan found or null if no plan was found.
+     */
+    @Override
+    Plan search() {
+        this.open.add(this.createRoot());
+        while (!this.open.isEmpty() && !this.isTimeout()) {
+            final Node current = this.open.poll();
+            if (!this.close.add(current)) {
+                continue;
+            }
+            if (this.isGoal(current)) {
+                return ASP.extractPlan(current, this.problem);
+            }
+            // The node is evaluated only now that it is selected
+            this.evaluate(current);
+            if (isDeadEnd(current)) {
+                continue;
+            }
+            for (Node next : this.expand(current, this.close::contains)) {
+                next.setHeuristic(current.getHeuristic());
+                this.open.add(next);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the estimated memory used by the open and closed lists.
+     *
+     * @return the memory used in bytes.
+     */
+    @Override
+    long getMemoryUsed() {
+        return this.open.size() * (Node.QUEUE_ENTRY + this.nodeSize) + this.close.size() * (Node.SET_ENTRY + this.nodeSize);
+    }
+
+    /**
+     * Returns the number of nodes waiting to be expanded.
+     *
+     * @return the size of the open list.
+     */
+    @Override
+    int getOpenSize() {
+        return this.open.size();
+    }
+
+    /**
+     * Returns the number of nodes kept to detect the duplicates.
+     *
+     * @return the size of the closed list.
+     */
+    @Override
+    int getClosedSize() {
+        return this.close.size();
+    }
+}
@@ -21,6 +21,8 @@ package fr.uga.pddl4j.tutorial.asp;
 
 import fr.uga.pddl4j.util.BitState;
 
+import java.util.BitSet;
+
 /**
  * This class implements a node of the tree search.
  *
@@ -29,6 +31,22 @@ import fr.uga.pddl4j.util.BitState;
  */
 public final class Node extends BitState {
 
+    /**
+     * The estimated number of bytes of a node, its fields and its state without the words of the
+     * state.
+     */
+    static final long OVERHEAD = 96L;
+
+    /**
+     * The estimated number of bytes used by a priority queue to store a node.
+     */
+    static final long QUEUE_ENTRY = 8L;
+
+    /**
+     * The estimated number of bytes used by a hash set or a hash map to store a node.
+     */
+    static final long SET_ENTRY = 48L;
+
     /**
      * The parent node of this node.
      */
@@ -50,12 +68,25 @@ public final class Node extends BitState {
     private int heuristic;
 
     /**
-     * Creates a new node from a specified state.
+     * The landmarks accepted on the path from the root node to this node.
+     */
+    private BitSet landmarks;
+
+    /**
+     * The Zobrist fingerprint of the state of this node.
+     */
+    private long fingerprint;
+
+    /**
+     * Creates a new node from a specified state. If the state is a node, its fingerprint is copied.
      *
      * @param state the state.
      */
     public Node(BitState state) {
         super(state);
+        if (state instanceof Node) {
+            this.fingerprint = ((Node) state).fingerprint;
+        }
     }
 
     /**
@@ -148,8 +179,46 @@ public final class Node extends BitState {
     }
 
     /**
-     * Returns if a node is equal to an other object. The equals method has the same behaviour as 
-     * the equals method of the class BitState.
+     * Returns the landmarks accepted on the path from the root node to the node.
+     *
+     * @return the landmarks accepted or null if the node was not evaluated by a landmark heuristic.
+     * @see LandmarkHeuristic
+     */
+    public final BitSet getLandmarks() {
+        return landmarks;
+    }
+
+    /**
+     * Sets the landmarks accepted on the path from the root node to the node.
+     *
+     * @param landmarks the landmarks accepted to set.
+     */
+    public final void setLandmarks(BitSet landmarks) {
+        this.landmarks = landmarks;
+    }
+
+    /**
+     * Returns the Zobrist fingerprint of the state of the node.
+     *
+     * @return the fingerprint of the node.
+     */
+    public final long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Sets the Zobrist fingerprint of the state of the node.
+     *
+     * @param fingerprint the fingerprint to set.
+     */
+    public final void setFingerprint(long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Returns if a node is equal to an other object. Two nodes with different fingerprints are
+     * different; otherwise the equals method has the same behaviour as the equals method of the
+     * class BitState.
      *
      * @param obj the other oject.
      * @return <code>true</code> if the node is equal to the other specified object; <code>false</code> otherwise.
@@ -157,19 +226,30 @@ public final class Node extends BitState {
      */
     @Override
     public boolean equals(final Object obj) {
+        if (obj instanceof Node && ((Node) obj).fingerprint != this.fingerprint) {
+            return false;
+        }
         return super.equals(obj);
     }
 
     /**
-     * Returns the hash code value of the node. The hashcode method has the same behaviour as the 
-     * hashcode method of the class BitState.
+     * Returns the hash code value of the node, computed from its fingerprint.
      *
      * @return the hashcode value for this node.
-     * @see BitState#hashCode()
      */
     @Override
     public int hashCode() {
-        return super.hashCode();
+        return (int) (this.fingerprint ^ (this.fingerprint >>> 32));
     }
 
-}
\ No newline at end of file
+    /**
+     * Returns the estimated number of bytes of a node of a problem. This estimate is used instead of
+     * a traversal of the data structures of the search to compute the memory they use.
+     *
+     * @param facts the number of relevant facts of the problem.
+     * @return the estimated number of bytes of a node.
+     */
+    static long sizeOf(final int facts) {
+        return OVERHEAD + 8L * ((facts + 63) / 64);
+    }
+}
@@ -0,0 +1,81 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This class is the flight recorder event emitted periodically during a search of the ASP planner
+ * to report its progress. The events are only recorded when a recording is running, for instance
+ * when the planner is started with the option <code>-XX:StartFlightRecording</code> of the JVM.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+@Name("fr.uga.pddl4j.tutorial.asp.Progress")
+@Label("Search Progress")
+@Category({"PDDL4J", "ASP"})
+@Description("Counters of the search sampled periodically")
+final class ProgressEvent extends jdk.jfr.Event {
+
+    /**
+     * The name of the search engine.
+     */
+    @Label("Engine")
+    String engine;
+
+    /**
+     * The number of nodes expanded.
+     */
+    @Label("Expanded Nodes")
+    long expandedNodes;
+
+    /**
+     * The number of nodes generated.
+     */
+    @Label("Generated Nodes")
+    long generatedNodes;
+
+    /**
+     * The number of heuristic evaluations.
+     */
+    @Label("Evaluated Nodes")
+    long evaluatedNodes;
+
+    /**
+     * The number of nodes expanded per second since the previous sample.
+     */
+    @Label("Expansion Rate")
+    double expansionRate;
+
+    /**
+     * The number of nodes generated per second since the previous sample.
+     */
+    @Label("Generation Rate")
+    double generationRate;
+
+    /**
+     * The number of nodes of the open list.
+     */
+    @Label("Open Size")
+    int openSize;
+
+    /**
+     * The number of nodes of the closed list.
+     */
+    @Label("Closed Size")
+    int closedSize;
+
+    /**
+     * The number of successors pruned because they were duplicates.
+     */
+    @Label("Duplicates")
+    long duplicates;
+
+    /**
+     * The lowest heuristic value computed.
+     */
+    @Label("Best Heuristic")
+    int bestHeuristic;
+}
@@ -0,0 +1,275 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class gathers the counters of a search engine of the ASP planner. The counters are updated
+ * by the thread of the search and can be read at any time by another thread, for instance to report
+ * the progress of the search.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+public final class SearchStatistics {
+
+    /**
+     * The number of buckets of the histogram of the evaluation times. The bucket i counts the
+     * evaluations that took between 2^i and 2^(i+1) nanoseconds.
+     */
+    public static final int BUCKETS = 40;
+
+    /**
+     * The name of the search engine.
+     */
+    private volatile String engine;
+
+    /**
+     * The number of nodes expanded.
+     */
+    private volatile long expandedNodes;
+
+    /**
+     * The number of nodes generated.
+     */
+    private volatile long generatedNodes;
+
+    /**
+     * The number of heuristic evaluations.
+     */
+    private volatile long evaluatedNodes;
+
+    /**
+     * The number of successors pruned because they were duplicates.
+     */
+    private volatile long duplicates;
+
+    /**
+     * The number of nodes of the open list.
+     */
+    private volatile int openSize;
+
+    /**
+     * The number of nodes of the closed list.
+     */
+    private volatile int closedSize;
+
+    /**
+     * The lowest heuristic value computed.
+     */
+    private volatile int bestHeuristic;
+
+    /**
+     * The histogram of the evaluation times.
+     */
+    private final AtomicLongArray evaluationTimes;
+
+    /**
+     * Creates a new empty statistics.
+     */
+    public SearchStatistics() {
+        this.engine = "astar";
+        this.bestHeuristic = Integer.MAX_VALUE;
+        this.evaluationTimes = new AtomicLongArray(BUCKETS);
+    }
+
+    /**
+     * Returns the name of the search engine.
+     *
+     * @return the name of the search engine.
+     */
+    public String getEngine() {
+        return this.engine;
+    }
+
+    /**
+     * Sets the name of the search engine.
+     *
+     * @param engine the name of the search engine.
+     */
+    public void setEngine(final String engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Returns the number of nodes expanded.
+     *
+     * @return the number of nodes expanded.
+     */
+    public long getExpandedNodes() {
+        return this.expandedNodes;
+    }
+
+    /**
+     * Sets the number of nodes expanded.
+     *
+     * @param expandedNodes the number of nodes expanded.
+     */
+    public void setExpandedNodes(final long expandedNodes) {
+        this.expandedNodes = expandedNodes;
+    }
+
+    /**
+     * Increments the number of nodes expanded.
+     */
+    public void incExpandedNodes() {
+        this.expandedNodes++;
+    }
+
+    /**
+     * Returns the number of nodes generated.
+     *
+     * @return the number of nodes generated.
+     */
+    public long getGeneratedNodes() {
+        return this.generatedNodes;
+    }
+
+    /**
+     * Sets the number of nodes generated.
+     *
+     * @param generatedNodes the number of nodes generated.
+     */
+    public void setGeneratedNodes(final long generatedNodes) {
+        this.generatedNodes = generatedNodes;
+    }
+
+    /**
+     * Increments the number of nodes generated.
+     */
+    public void incGeneratedNodes() {
+        this.generatedNodes++;
+    }
+
+    /**
+     * Returns the number of heuristic evaluations.
+     *
+     * @return the number of heuristic evaluations.
+     */
+    public long getEvaluatedNodes() {
+        return this.evaluatedNodes;
+    }
+
+    /**
+     * Sets the number of heuristic evaluations.
+     *
+     * @param evaluatedNodes the number of heuristic evaluations.
+     */
+    public void setEvaluatedNodes(final long evaluatedNodes) {
+        this.evaluatedNodes = evaluatedNodes;
+    }
+
+    /**
+     * Increments the number of heuristic evaluations.
+     */
+    public void incEvaluatedNodes() {
+        this.evaluatedNodes++;
+    }
+
+    /**
+     * Records a heuristic evaluation: increments the number of evaluations, updates the lowest
+     * heuristic value and the histogram of the evaluation times.
+     *
+     * @param heuristic the heuristic value computed.
+     * @param time      the time taken by the evaluation in nanoseconds.
+     */
+    public void recordEvaluation(final int heuristic, final long time) {
+        if (heuristic < this.bestHeuristic) {
+            this.bestHeuristic = heuristic;
+        }
+        this.recordEvaluation(time);
+    }
+
+    /**
+     * Records a heuristic evaluation whose value is not reported: increments the number of
+     * evaluations and updates the histogram of the evaluation times.
+     *
+     * @param time the time taken by the evaluation in nanoseconds.
+     */
+    public void recordEvaluation(final long time) {
+        this.evaluatedNodes++;
+        final int bucket = 63 - Long.numberOfLeadingZeros(Math.max(1L, time));
+        this.evaluationTimes.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+    }
+
+    /**
+     * Returns the number of successors pruned because they were duplicates.
+     *
+     * @return the number of duplicates.
+     */
+    public long getDuplicates() {
+        return this.duplicates;
+    }
+
+    /**
+     * Adds a number of successors pruned because they were duplicates.
+     *
+     * @param duplicates the number of duplicates to add.
+     */
+    public void addDuplicates(final long duplicates) {
+        this.duplicates += duplicates;
+    }
+
+    /**
+     * Returns the number of nodes of the open list.
+     *
+     * @return the number of nodes of the open list.
+     */
+    public int getOpenSize() {
+        return this.openSize;
+    }
+
+    /**
+     * Returns the number of nodes of the closed list.
+     *
+     * @return the number of nodes of the closed list.
+     */
+    public int getClosedSize() {
+        return this.closedSize;
+    }
+
+    /**
+     * Sets the number of nodes of the open and closed lists.
+     *
+     * @param openSize   the number of nodes of the open list.
+     * @param closedSize the number of nodes of the closed list.
+     */
+    public void setSizes(final int openSize, final int closedSize) {
+        this.openSize = openSize;
+        this.closedSize = closedSize;
+    }
+
+    /**
+     * Returns the lowest heuristic value computed.
+     *
+     * @return the lowest heuristic value or <code>Integer.MAX_VALUE</code> if no node was evaluated.
+     */
+    public int getBestHeuristic() {
+        return this.bestHeuristic;
+    }
+
+    /**
+     * Returns the histogram of the evaluation times. The bucket i counts the evaluations that took
+     * between 2^i and 2^(i+1) nanoseconds.
+     *
+     * @return a copy of the histogram.
+     */
+    public long[] getEvaluationTimes() {
+        final long[] histogram = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] = this.evaluationTimes.get(i);
+        }
+        return histogram;
+    }
+
+    /**
+     * Returns a string representation of the statistics.
+     *
+     * @return a string representation of the statistics.
+     */
+    @Override
+    public String toString() {
+        return String.format("engine: %s, expanded nodes: %d, generated nodes: %d, evaluated nodes: %d, "
+                + "duplicates: %d, best heuristic: %d", this.engine, this.expandedNodes, this.generatedNodes,
+                this.evaluatedNodes, this.duplicates, this.bestHeuristic);
+    }
+}
@@ -0,0 +1,253 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.CondBitExp;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * This class computes the strong stubborn sets of the states of a planning problem, a partial order
+ * reduction that avoids the expansion of all the interleavings of independent operators. The
+ * stubborn set of a state contains the achievers of an unsatisfied goal, and is closed by adding,
+ * for each operator of the set, the operators it interferes with if it is applicable, or the
+ * achievers of one of its unsatisfied preconditions otherwise. Only the applicable operators of the
+ * stubborn set have to be expanded to preserve the optimality of the search.
+ * <p>
+ * The facts are handled as literals: the literal f is the fact f and the literal n + f its
+ * negation, n being the number of relevant facts. The achievers and the interference relations are
+ * computed once when the object is created. The object is immutable and can be shared between
+ * threads, the caller providing the structures used to compute a stubborn set.
+ * </p>
+ * <p>
+ * The reduction is only defined for operators without conditional effects: when the problem has
+ * some, {@link #isSupported()} returns <code>false</code> and the reduction must not be used.
+ * </p>
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class StubbornSets {
+
+    /**
+     * The number of expansions after which the pruning ratio is measured.
+     */
+    static final int WARMUP = 1000;
+
+    /**
+     * The minimal ratio of applicable operators pruned for the reduction to be kept.
+     */
+    static final double MIN_RATIO = 0.2;
+
+    /**
+     * The operators of the problem.
+     */
+    private final List<BitOp> operators;
+
+    /**
+     * The literals of the goal of the problem.
+     */
+    private final int[] goal;
+
+    /**
+     * The number of relevant facts of the problem.
+     */
+    private final int facts;
+
+    /**
+     * The operators making each literal true.
+     */
+    private final int[][] achievers;
+
+    /**
+     * The literals of the preconditions of each operator.
+     */
+    private final int[][] preconditions;
+
+    /**
+     * The operators interfering with each operator.
+     */
+    private final int[][] interferences;
+
+    /**
+     * The flag telling if the operators of the problem have no conditional effects.
+     */
+    private final boolean supported;
+
+    /**
+     * Creates the stubborn sets of a problem.
+     *
+     * @param problem the problem to solve.
+     */
+    StubbornSets(final CodedProblem problem) {
+        this.operators = problem.getOperators();
+        this.facts = problem.getRelevantFacts().size();
+        this.goal = this.literals(problem.getGoal());
+        final int size = this.operators.size();
+        final int[][] effects = new int[size][];
+        this.preconditions = new int[size][];
+        boolean conditional = false;
+        for (int i = 0; i < size; i++) {
+            final BitOp op = this.operators.get(i);
+            this.preconditions[i] = this.literals(op.getPreconditions());
+            final BitExp effect = new BitExp();
+            for (CondBitExp ce : op.getCondEffects()) {
+                if (!ce.getCondition().isEmpty()) {
+                    conditional = true;
+                }
+                effect.getPositive().or(ce.getEffects().getPositive());
+                effect.getNegative().or(ce.getEffects().getNegative());
+            }
+            effects[i] = this.literals(effect);
+        }
+        this.supported = !conditional;
+        this.achievers = this.index(effects);
+        final int[][] required = this.index(this.preconditions);
+        // Two operators interfere if one disables the other or if their effects conflict
+        this.interferences = new int[size][];
+        final BitSet interfering = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            interfering.clear();
+            for (int lit : effects[i]) {
+                for (int op : required[this.negate(lit)]) {
+                    interfering.set(op);
+                }
+                for (int op : this.achievers[this.negate(lit)]) {
+                    interfering.set(op);
+                }
+            }
+            for (int lit : this.preconditions[i]) {
+                for (int op : this.achievers[this.negate(lit)]) {
+                    interfering.set(op);
+                }
+            }
+            interfering.clear(i);
+            this.interferences[i] = interfering.stream().toArray();
+        }
+    }
+
+    /**
+     * Returns if the reduction can be used for the problem, i.e., if its operators have no
+     * conditional effects.
+     *
+     * @return <code>true</code> if the reduction can be used; <code>false</code> otherwise.
+     */
+    boolean isSupported() {
+        return this.supported;
+    }
+
+    /**
+     * Computes the strong stubborn set of a state. The set returned contains applicable and not
+     * applicable operators: only the applicable ones have to be expanded.
+     *
+     * @param state    the state.
+     * @param stubborn the set where the operators of the stubborn set are stored.
+     * @param queue    the queue of the operators to process, of the size of the number of operators.
+     */
+    void compute(final BitState state, final BitSet stubborn, final int[] queue) {
+        stubborn.clear();
+        final int goal = this.unsatisfied(this.goal, state);
+        if (goal == -1) {
+            stubborn.set(0, this.operators.size());
+            return;
+        }
+        int size = this.push(this.achievers[goal], stubborn, queue, 0);
+        for (int head = 0; head < size; head++) {
+            final int op = queue[head];
+            final int lit = this.unsatisfied(this.preconditions[op], state);
+            if (lit == -1) {
+                size = this.push(this.interferences[op], stubborn, queue, size);
+            } else {
+                size = this.push(this.achievers[lit], stubborn, queue, size);
+            }
+        }
+    }
+
+    /**
+     * Adds operators to the stubborn set and to the queue if they are not already in the set.
+     *
+     * @param ops      the operators to add.
+     * @param stubborn the stubborn set.
+     * @param queue    the queue of the operators to process.
+     * @param size     the number of operators in the queue.
+     * @return the new number of operators in the queue.
+     */
+    private int push(final int[] ops, final BitSet stubborn, final int[] queue, final int size) {
+        int n = size;
+        for (int op : ops) {
+            if (!stubborn.get(op)) {
+                stubborn.set(op);
+                queue[n++] = op;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Returns the first literal of a list that does not hold in a state.
+     *
+     * @param literals the literals.
+     * @param state    the state.
+     * @return the first literal that does not hold or -1 if they all hold.
+     */
+    private int unsatisfied(final int[] literals, final BitState state) {
+        for (int lit : literals) {
+            if (lit < this.facts ? !state.get(lit) : state.get(lit - this.facts)) {
+                return lit;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the literals of an expression.
+     *
+     * @param exp the expression.
+     * @return the literals of the expression.
+     */
+    private int[] literals(final BitExp exp) {
+        final int[] positive = exp.getPositive().stream().toArray();
+        final int[] negative = exp.getNegative().stream().map(f -> f + this.facts).toArray();
+        final int[] literals = new int[positive.length + negative.length];
+        System.arraycopy(positive, 0, literals, 0, positive.length);
+        System.arraycopy(negative, 0, literals, positive.length, negative.length);
+        return literals;
+    }
+
+    /**
+     * Returns the negation of a literal.
+     *
+     * @param lit the literal.
+     * @return the negation of the literal.
+     */
+    private int negate(final int lit) {
+        return lit < this.facts ? lit + this.facts : lit - this.facts;
+    }
+
+    /**
+     * Builds the index giving for each literal the operators whose list contains it.
+     *
+     * @param lists the list of literals of each operator.
+     * @return the operators of each literal.
+     */
+    private int[][] index(final int[][] lists) {
+        final List<List<Integer>> ops = new ArrayList<>(2 * this.facts);
+        for (int lit = 0; lit < 2 * this.facts; lit++) {
+            ops.add(new ArrayList<>());
+        }
+        for (int op = 0; op < lists.length; op++) {
+            for (int lit : lists[op]) {
+                ops.get(lit).add(op);
+            }
+        }
+        final int[][] index = new int[2 * this.facts][];
+        for (int lit = 0; lit < index.length; lit++) {
+            index[lit] = ops.get(lit).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return index;
+    }
+}
@@ -0,0 +1,248 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitState;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.CondBitExp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * This class generates the successors of the nodes without allocating a node for each applicable
+ * operator. The effects of each operator are applied in place to a scratch node holding the state
+ * of the node to expand, the fingerprint of the scratch node is updated incrementally and the
+ * scratch node is tested against the duplicates of the search. A new node is only created when the
+ * successor is not a duplicate. The effects are then undone by flipping back the facts changed.
+ * <p>
+ * When stubborn sets are given, only the applicable operators of the stubborn set of the node are
+ * expanded. The ratio of applicable operators pruned is measured during the first expansions and
+ * the reduction is dropped if it is below {@link StubbornSets#MIN_RATIO}.
+ * </p>
+ * <p>
+ * A generator keeps a mutable scratch node, so it must not be shared between threads.
+ * </p>
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class SuccessorGenerator {
+
+    /**
+     * The problem to solve.
+     */
+    private final CodedProblem problem;
+
+    /**
+     * The Zobrist table used to compute the fingerprints of the nodes.
+     */
+    private final Zobrist zobrist;
+
+    /**
+     * The scratch node where the effects are applied.
+     */
+    private final Node scratch;
+
+    /**
+     * The effects of the operator being applied whose condition holds.
+     */
+    private final List<BitExp> effects;
+
+    /**
+     * The facts flipped by the operator being applied.
+     */
+    private int[] flips;
+
+    /**
+     * The number of facts flipped by the operator being applied.
+     */
+    private int size;
+
+    /**
+     * The number of successors generated by the last expansion, duplicates included.
+     */
+    private int generated;
+
+    /**
+     * The stubborn sets used to prune the operators or null if the operators are not pruned.
+     */
+    private StubbornSets stubbornSets;
+
+    /**
+     * The stubborn set of the node being expanded.
+     */
+    private final BitSet stubborn;
+
+    /**
+     * The queue used to compute the stubborn sets.
+     */
+    private final int[] queue;
+
+    /**
+     * The number of expansions done with the stubborn sets.
+     */
+    private int expansions;
+
+    /**
+     * The number of applicable operators met during the expansions done with the stubborn sets.
+     */
+    private long applicable;
+
+    /**
+     * The number of applicable operators pruned by the stubborn sets.
+     */
+    private long pruned;
+
+    /**
+     * Creates a new successor generator that expands all the applicable operators.
+     *
+     * @param problem the problem to solve.
+     * @param zobrist the Zobrist table used to compute the fingerprints of the nodes.
+     */
+    SuccessorGenerator(final CodedProblem problem, final Zobrist zobrist) {
+        this(problem, zobrist, null);
+    }
+
+    /**
+     * Creates a new successor generator.
+     *
+     * @param problem      the problem to solve.
+     * @param zobrist      the Zobrist table used to compute the fingerprints of the nodes.
+     * @param stubbornSets the stubborn sets used to prune the operators or null to expand all the
+     *                     applicable operators.
+     */
+    SuccessorGenerator(final CodedProblem problem, final Zobrist zobrist, final StubbornSets stubbornSets) {
+        this.problem = problem;
+        this.zobrist = zobrist;
+        this.scratch = new Node(new BitState());
+        this.effects = new ArrayList<>();
+        this.flips = new int[16];
+        this.stubbornSets = stubbornSets;
+        this.stubborn = new BitSet(problem.getOperators().size());
+        this.queue = stubbornSets == null ? null : new int[problem.getOperators().size()];
+    }
+
+    /**
+     * Returns the number of successors generated by the last expansion, duplicates included.
+     *
+     * @return the number of successors generated.
+     */
+    int getGenerated() {
+        return this.generated;
+    }
+
+    /**
+     * Expands a node and returns its successors that are not duplicates. The successors returned
+     * have their cost, parent, operator and fingerprint set but not their heuristic value.
+     *
+     * @param current   the node to expand.
+     * @param duplicate the test telling if a successor is a duplicate. The node given to the test
+     *                  is the scratch node: it must not be stored.
+     * @return the successors of the node that are not duplicates.
+     */
+    List<Node> expand(final Node current, final Predicate<? super Node> duplicate) {
+        final List<BitOp> operators = this.problem.getOperators();
+        final List<Node> children = new ArrayList<>();
+        this.scratch.clear();
+        this.scratch.or(current);
+        this.generated = 0;
+        final StubbornSets pruning = this.stubbornSets;
+        if (pruning != null) {
+            pruning.compute(current, this.stubborn, this.queue);
+        }
+        for (int i = 0; i < operators.size(); i++) {
+            final BitOp a = operators.get(i);
+            if (a.isApplicable(current)) {
+                if (pruning != null) {
+                    this.applicable++;
+                    if (!this.stubborn.get(i)) {
+                        this.pruned++;
+                        continue;
+                    }
+                }
+                this.generated++;
+                // The conditions are evaluated in the state of the node before any effect is applied
+                this.effects.clear();
+                for (CondBitExp ce : a.getCondEffects()) {
+                    if (current.satisfy(ce.getCondition())) {
+                        this.effects.add(ce.getEffects());
+                    }
+                }
+                long fingerprint = current.getFingerprint();
+                this.size = 0;
+                for (BitExp effect : this.effects) {
+                    fingerprint = this.apply(effect, fingerprint);
+                }
+                this.scratch.setFingerprint(fingerprint);
+                if (!duplicate.test(this.scratch)) {
+                    final Node next = new Node(this.scratch);
+                    next.setCost(current.getCost() + 1);
+                    next.setParent(current);
+                    next.setOperator(i);
+                    children.add(next);
+                }
+                this.undo();
+            }
+        }
+        if (pruning != null && ++this.expansions == StubbornSets.WARMUP
+                && this.pruned < StubbornSets.MIN_RATIO * this.applicable) {
+            this.stubbornSets = null;
+        }
+        return children;
+    }
+
+    /**
+     * Applies an effect to the scratch node and records the facts flipped.
+     *
+     * @param effect      the effect.
+     * @param fingerprint the fingerprint of the scratch node before the effect.
+     * @return the fingerprint of the scratch node after the effect.
+     */
+    private long apply(final BitExp effect, final long fingerprint) {
+        long hash = fingerprint;
+        final BitVector negative = effect.getNegative();
+        for (int i = negative.nextSetBit(0); i >= 0; i = negative.nextSetBit(i + 1)) {
+            if (this.scratch.get(i)) {
+                this.scratch.clear(i);
+                hash ^= this.zobrist.key(i);
+                this.record(i);
+            }
+        }
+        final BitVector positive = effect.getPositive();
+        for (int i = positive.nextSetBit(0); i >= 0; i = positive.nextSetBit(i + 1)) {
+            if (!this.scratch.get(i)) {
+                this.scratch.set(i);
+                hash ^= this.zobrist.key(i);
+                this.record(i);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Records a fact flipped in the scratch node.
+     *
+     * @param fact the fact.
+     */
+    private void record(final int fact) {
+        if (this.size == this.flips.length) {
+            this.flips = Arrays.copyOf(this.flips, this.size * 2);
+        }
+        this.flips[this.size++] = fact;
+    }
+
+    /**
+     * Restores the scratch node to the state of the node being expanded.
+     */
+    private void undo() {
+        for (int k = this.size - 1; k >= 0; k--) {
+            this.scratch.flip(this.flips[k]);
+        }
+        this.size = 0;
+    }
+}
@@ -0,0 +1,159 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class samples periodically the statistics of a search on a timer thread to report the
+ * progress of the search. Each sample is emitted as a {@link ProgressEvent} of the flight recorder
+ * and, if a writer is given, as a line of JSON with the following fields: the time in milliseconds
+ * since the beginning of the search, the engine, the numbers of nodes expanded, generated and
+ * evaluated, the numbers of nodes expanded and generated per second since the previous sample, the
+ * sizes of the open and closed lists, the number of duplicates pruned, the best heuristic value and
+ * the histogram of the evaluation times, whose bucket i counts the evaluations that took between 2^i
+ * and 2^(i+1) nanoseconds.
+ * <p>
+ * The search thread only updates the counters of the statistics, so the cost of the telemetry for
+ * the search does not depend on the period of the samples.
+ * </p>
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class Telemetry implements AutoCloseable {
+
+    /**
+     * The default period of the samples in milliseconds.
+     */
+    static final long DEFAULT_PERIOD = 1000;
+
+    /**
+     * The statistics sampled.
+     */
+    private final SearchStatistics statistics;
+
+    /**
+     * The writer of the JSON lines or null if the samples are only emitted as events.
+     */
+    private final Writer writer;
+
+    /**
+     * The timer thread.
+     */
+    private final ScheduledExecutorService timer;
+
+    /**
+     * The date in milliseconds of the beginning of the search.
+     */
+    private final long begin;
+
+    /**
+     * The date in milliseconds of the previous sample.
+     */
+    private long last;
+
+    /**
+     * The number of nodes expanded at the previous sample.
+     */
+    private long expanded;
+
+    /**
+     * The number of nodes generated at the previous sample.
+     */
+    private long generated;
+
+    /**
+     * Creates and starts a new telemetry.
+     *
+     * @param statistics the statistics of the search.
+     * @param writer     the writer of the JSON lines or null to only emit events.
+     * @param period     the period of the samples in milliseconds.
+     */
+    Telemetry(final SearchStatistics statistics, final Writer writer, final long period) {
+        this.statistics = statistics;
+        this.writer = writer;
+        this.begin = System.currentTimeMillis();
+        this.last = this.begin;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "search-telemetry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.scheduleAtFixedRate(this::sample, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the timer thread and emits a last sample.
+     */
+    @Override
+    public void close() {
+        this.timer.shutdownNow();
+        try {
+            this.timer.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.sample();
+    }
+
+    /**
+     * Samples the statistics and emits the sample.
+     */
+    private synchronized void sample() {
+        final long now = System.currentTimeMillis();
+        final long expandedNodes = this.statistics.getExpandedNodes();
+        final long generatedNodes = this.statistics.getGeneratedNodes();
+        final double seconds = Math.max(1L, now - this.last) / 1000.0;
+        final double expansionRate = (expandedNodes - this.expanded) / seconds;
+        final double generationRate = (generatedNodes - this.generated) / seconds;
+        this.last = now;
+        this.expanded = expandedNodes;
+        this.generated = generatedNodes;
+
+        final ProgressEvent event = new ProgressEvent();
+        if (event.shouldCommit()) {
+            event.engine = this.statistics.getEngine();
+            event.expandedNodes = expandedNodes;
+            event.generatedNodes = generatedNodes;
+            event.evaluatedNodes = this.statistics.getEvaluatedNodes();
+            event.expansionRate = expansionRate;
+            event.generationRate = generationRate;
+            event.openSize = this.statistics.getOpenSize();
+            event.closedSize = this.statistics.getClosedSize();
+            event.duplicates = this.statistics.getDuplicates();
+            event.bestHeuristic = this.statistics.getBestHeuristic();
+            event.commit();
+        }
+
+        if (this.writer != null) {
+            final StringBuilder json = new StringBuilder();
+            json.append(String.format(Locale.ROOT, "{\"time\":%d,\"engine\":\"%s\",\"expanded\":%d,\"generated\":%d,"
+                    + "\"evaluated\":%d,\"expandedPerSecond\":%.1f,\"generatedPerSecond\":%.1f,\"open\":%d,"
+                    + "\"closed\":%d,\"duplicates\":%d,\"bestHeuristic\":%d,\"evaluationTimes\":[",
+                    now - this.begin, this.statistics.getEngine(), expandedNodes, generatedNodes,
+                    this.statistics.getEvaluatedNodes(), expansionRate, generationRate, this.statistics.getOpenSize(),
+                    this.statistics.getClosedSize(), this.statistics.getDuplicates(),
+                    this.statistics.getBestHeuristic()));
+            // The empty buckets of the slowest evaluations are not written
+            final long[] histogram = this.statistics.getEvaluationTimes();
+            int size = histogram.length;
+            while (size > 0 && histogram[size - 1] == 0) {
+                size--;
+            }
+            for (int i = 0; i < size; i++) {
+                json.append(i == 0 ? "" : ",").append(histogram[i]);
+            }
+            json.append("]}\n");
+            try {
+                this.writer.write(json.toString());
+                this.writer.flush();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
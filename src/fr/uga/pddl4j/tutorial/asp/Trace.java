@@ -0,0 +1,92 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.Plan;
+import fr.uga.pddl4j.util.SequentialPlan;
+
+import java.util.Arrays;
+
+/**
+ * This class records the search tree in a compact form: for each recorded node, only the index of
+ * its parent and the index of the operator applied to reach it are kept. It allows to extract a
+ * plan when the nodes themselves are not kept in memory.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class Trace {
+
+    /**
+     * The index of the parent of each node, -1 for the root.
+     */
+    private int[] parents;
+
+    /**
+     * The operator applied to reach each node, -1 for the root.
+     */
+    private int[] operators;
+
+    /**
+     * The number of nodes recorded.
+     */
+    private int size;
+
+    /**
+     * Creates a new empty trace.
+     */
+    Trace() {
+        this.parents = new int[1024];
+        this.operators = new int[1024];
+        this.size = 0;
+    }
+
+    /**
+     * Records a node.
+     *
+     * @param parent   the index of the parent of the node or -1 for the root.
+     * @param operator the operator applied to reach the node or -1 for the root.
+     * @return the index of the node.
+     */
+    int add(final int parent, final int operator) {
+        if (this.size == this.parents.length) {
+            this.parents = Arrays.copyOf(this.parents, this.size * 2);
+            this.operators = Arrays.copyOf(this.operators, this.size * 2);
+        }
+        this.parents[this.size] = parent;
+        this.operators[this.size] = operator;
+        return this.size++;
+    }
+
+    /**
+     * Returns the memory used by the trace.
+     *
+     * @return the memory used in bytes.
+     */
+    long getMemoryUsed() {
+        return 8L * this.parents.length;
+    }
+
+    /**
+     * Extracts the plan leading to a node that is not recorded, from its parent and the operator
+     * applied to reach it.
+     *
+     * @param parent   the index of the parent of the node.
+     * @param operator the operator applied to reach the node.
+     * @param problem  the problem.
+     * @return the plan leading to the node.
+     */
+    Plan extractPlan(final int parent, final int operator, final CodedProblem problem) {
+        final Plan plan = new SequentialPlan();
+        if (operator != -1) {
+            plan.add(0, problem.getOperators().get(operator));
+        }
+        int n = parent;
+        while (n != -1 && this.operators[n] != -1) {
+            final BitOp op = problem.getOperators().get(this.operators[n]);
+            plan.add(0, op);
+            n = this.parents[n];
+        }
+        return plan;
+    }
+}
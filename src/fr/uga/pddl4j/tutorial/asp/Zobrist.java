@@ -0,0 +1,77 @@
+package fr.uga.pddl4j.tutorial.asp;
+
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * This class implements the Zobrist hashing of the states of a planning problem. Each relevant fact
+ * of the problem is associated with a random 64-bit key and the hash of a state is the exclusive or
+ * of the keys of the facts true in the state. The hash of a child can therefore be updated from the
+ * hash of its parent by xoring the keys of the facts changed by the operator applied.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class Zobrist {
+
+    /**
+     * The default seed used to generate the keys. A fixed seed makes the partitioning of the
+     * state space reproducible from one run to another.
+     */
+    static final long DEFAULT_SEED = 0x5DEECE66DL;
+
+    /**
+     * The random keys of the facts.
+     */
+    private final long[] keys;
+
+    /**
+     * Creates a new Zobrist table for a specified number of facts.
+     *
+     * @param size the number of relevant facts of the problem.
+     * @param seed the seed used to generate the keys.
+     */
+    Zobrist(final int size, final long seed) {
+        final Random random = new Random(seed);
+        this.keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            this.keys[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Returns the key of a specified fact.
+     *
+     * @param fact the index of the fact.
+     * @return the key of the fact.
+     */
+    long key(final int fact) {
+        return this.keys[fact];
+    }
+
+    /**
+     * Computes from scratch the hash of a specified state.
+     *
+     * @param state the state.
+     * @return the hash of the state.
+     */
+    long hash(final BitSet state) {
+        long hash = 0L;
+        for (int i = state.nextSetBit(0); i >= 0; i = state.nextSetBit(i + 1)) {
+            hash ^= this.keys[i];
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the partition of a specified hash when the state space is split into a given number
+     * of slices.
+     *
+     * @param hash       the hash of a state.
+     * @param partitions the number of partitions.
+     * @return the partition of the hash in [0, partitions[.
+     */
+    static int partition(final long hash, final int partitions) {
+        return (int) Long.remainderUnsigned(hash, partitions);
+    }
+}
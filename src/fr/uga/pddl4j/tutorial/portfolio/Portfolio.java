@@ -0,0 +1,354 @@
+package fr.uga.pddl4j.tutorial.portfolio;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.tutorial.asp.ASP;
+import fr.uga.pddl4j.tutorial.problem.ProblemCache;
+import fr.uga.pddl4j.tutorial.satplanner.SATPlanner;
+import fr.uga.pddl4j.util.Plan;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class implements a portfolio planner racing ASP and SATPlanner. The problem is grounded once
+ * and the encoded problem is shared by the two planners, each running on its own thread. The first
+ * plan found is returned, unless a grace delay is given: the other planner then has this delay to
+ * find a shorter plan. The planner still running is then cancelled and the planner whose plan is
+ * returned is recorded as the winner.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+public final class Portfolio {
+
+    /**
+     * The delay in milliseconds given to a cancelled planner to stop.
+     */
+    private static final long STOP_DELAY = 1000;
+
+    /**
+     * The arguments of ASP.
+     */
+    private final Properties aspArguments;
+
+    /**
+     * The arguments of SATPlanner.
+     */
+    private final Properties satArguments;
+
+    /**
+     * The arguments of the portfolio.
+     */
+    private final Properties arguments;
+
+    /**
+     * The name of the planner whose plan was returned by the last race or null if no plan was
+     * found.
+     */
+    private String winner;
+
+    /**
+     * Creates a new portfolio.
+     *
+     * @param arguments the arguments of the portfolio.
+     * @throws IllegalArgumentException if the options of a planner are invalid.
+     */
+    public Portfolio(final Properties arguments) {
+        this.arguments = arguments;
+        final Properties asp = ASP.parseCommandLine(Portfolio.options(arguments, "aspOptions"));
+        final Properties sat = SATPlanner.parseCommandLine(Portfolio.options(arguments, "satOptions"));
+        if (asp == null || sat == null) {
+            throw new IllegalArgumentException("invalid options of " + (asp == null ? "ASP" : "SATPlanner"));
+        }
+        this.aspArguments = asp;
+        this.satArguments = sat;
+    }
+
+    /**
+     * Returns the name of the planner whose plan was returned by the last race.
+     *
+     * @return the name of the winner or null if no plan was found.
+     */
+    public String getWinner() {
+        return this.winner;
+    }
+
+    /**
+     * Races the two planners on a problem and returns the plan of the winner.
+     *
+     * @param problem the problem to be solved.
+     * @return the plan of the winner or null if no planner found a plan before the timeout.
+     * @throws InterruptedException if the thread is interrupted while waiting for the planners.
+     */
+    public Plan search(final CodedProblem problem) throws InterruptedException {
+        this.winner = null;
+        // The planners are created for each race, since a cancelled planner cannot search again
+        final ASP asp = new ASP(this.aspArguments);
+        final SATPlanner sat = new SATPlanner(this.satArguments);
+        final ExecutorService pool = Executors.newFixedThreadPool(2, r -> {
+            final Thread thread = new Thread(r);
+            thread.setDaemon(true);
+            return thread;
+        });
+        final CompletionService<Outcome> race = new ExecutorCompletionService<>(pool);
+        final List<Future<Outcome>> futures = new ArrayList<>();
+        futures.add(race.submit(() -> new Outcome("ASP", asp.search(problem))));
+        futures.add(race.submit(() -> new Outcome("SatSolver", sat.search(problem))));
+        final long deadline = System.currentTimeMillis() + 1000L * (int) this.arguments.get(Planner.TIMEOUT);
+        final long grace = (long) this.arguments.get("grace");
+        Outcome best = null;
+        try {
+            long end = deadline;
+            for (int pending = futures.size(); pending > 0; pending--) {
+                final Future<Outcome> done = race.poll(Math.max(0, end - System.currentTimeMillis()),
+                        TimeUnit.MILLISECONDS);
+                if (done == null) {
+                    break;
+                }
+                final Outcome outcome = Portfolio.get(done);
+                if (outcome.plan != null && (best == null || outcome.plan.size() < best.plan.size())) {
+                    if (best == null) {
+                        // The first plan found: the other planner is granted the grace delay at most
+                        end = Math.min(deadline, System.currentTimeMillis() + grace);
+                    }
+                    best = outcome;
+                }
+                if (best != null && grace == 0) {
+                    break;
+                }
+            }
+        } finally {
+            asp.cancel();
+            sat.cancel();
+            pool.shutdown();
+            pool.awaitTermination(STOP_DELAY, TimeUnit.MILLISECONDS);
+        }
+        if (best == null) {
+            return null;
+        }
+        this.winner = best.planner;
+        return best.plan;
+    }
+
+    /**
+     * Returns the outcome of a planner. A planner that failed is handled as a planner that found no
+     * plan.
+     *
+     * @param future the future of the planner.
+     * @return the outcome of the planner.
+     * @throws InterruptedException if the portfolio is interrupted while waiting for the outcome.
+     */
+    private static Outcome get(final Future<Outcome> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Planner.getLogger().trace(String.format("%nplanner failure: %s%n", e.getCause()));
+            return new Outcome(null, null);
+        }
+    }
+
+    /**
+     * Returns the command line of a planner: the domain, the problem and the timeout of the
+     * portfolio followed by the options of the planner.
+     *
+     * @param arguments the arguments of the portfolio.
+     * @param key       the key of the options of the planner.
+     * @return the command line of the planner.
+     */
+    private static String[] options(final Properties arguments, final String key) {
+        final List<String> args = new ArrayList<>(Arrays.asList(
+                "-o", ((File) arguments.get(Planner.DOMAIN)).getPath(),
+                "-f", ((File) arguments.get(Planner.PROBLEM)).getPath(),
+                "-t", Integer.toString((int) arguments.get(Planner.TIMEOUT))));
+        if ("satOptions".equals(key)) {
+            args.add("-q");
+        }
+        final String options = ((String) arguments.get(key)).trim();
+        if (!options.isEmpty()) {
+            args.addAll(Arrays.asList(options.split("\\s+")));
+        }
+        return args.toArray(new String[0]);
+    }
+
+    /**
+     * Print the usage of the portfolio.
+     */
+    private static void printUsage() {
+        final StringBuilder strb = new StringBuilder();
+        strb.append("\nusage of Portfolio:\n")
+                .append("OPTIONS   DESCRIPTIONS\n")
+                .append("-o <str>    operator file name\n")
+                .append("-f <str>    fact file name\n")
+                .append("-t <num>    specifies the maximum time of the race in seconds (preset: 300)\n")
+                .append("-g <num>    the delay in ms given to the other planner to find a shorter plan\n")
+                .append("            once a plan is found (preset: 0)\n")
+                .append("-a <str>    the options of ASP, in quotes (preset: none)\n")
+                .append("-b <str>    the options of SATPlanner, in quotes (preset: none)\n")
+                .append("-c <str>    the directory of the cache of the encoded problems\n")
+                .append("-s <str>    specifies save file name\n")
+                .append("-h          print this message\n\n");
+        Planner.getLogger().trace(strb.toString());
+    }
+
+    /**
+     * Parse the command line and return the portfolio's arguments.
+     *
+     * @param args the command line.
+     * @return the portfolio arguments or null if an invalid argument is encountered.
+     */
+    private static Properties parseCommandLine(String[] args) {
+        final Properties arguments = new Properties();
+        arguments.put(Planner.TIMEOUT, 300);
+        arguments.put("grace", 0L);
+        arguments.put("aspOptions", "");
+        arguments.put("satOptions", "");
+        for (int i = 0; i < args.length; i += 2) {
+            if ("-o".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                if (!new File(args[i + 1]).exists()) return null;
+                arguments.put(Planner.DOMAIN, new File(args[i + 1]));
+            } else if ("-f".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                if (!new File(args[i + 1]).exists()) return null;
+                arguments.put(Planner.PROBLEM, new File(args[i + 1]));
+            } else if ("-t".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                final int timeout = Integer.parseInt(args[i + 1]);
+                if (timeout < 0) return null;
+                arguments.put(Planner.TIMEOUT, timeout);
+            } else if ("-g".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                final long grace = Long.parseLong(args[i + 1]);
+                if (grace < 0) return null;
+                arguments.put("grace", grace);
+            } else if ("-a".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                arguments.put("aspOptions", args[i + 1]);
+            } else if ("-b".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                arguments.put("satOptions", args[i + 1]);
+            } else if ("-c".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                arguments.put("cache", new ProblemCache(new File(args[i + 1])));
+            } else if ("-s".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                try {
+                    arguments.put("csvFile", new FileWriter(args[i + 1], true));
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            } else {
+                return null;
+            }
+        }
+        // Return null if the domain or the problem was not specified
+        return (arguments.get(Planner.DOMAIN) == null
+                || arguments.get(Planner.PROBLEM) == null) ? null : arguments;
+    }
+
+    /**
+     * The main method of the portfolio. The command line syntax is as follows:
+     *
+     * <pre>
+     * usage of Portfolio:
+     *
+     * OPTIONS   DESCRIPTIONS
+     *
+     * -o <i>str</i>   operator file name
+     * -f <i>str</i>   fact file name
+     * -t <i>num</i>   specifies the maximum time of the race in seconds (preset: 300)
+     * -g <i>num</i>   the delay in ms given to the other planner to find a shorter plan
+     *                 once a plan is found (preset: 0)
+     * -a <i>str</i>   the options of ASP, in quotes (preset: none)
+     * -b <i>str</i>   the options of SATPlanner, in quotes (preset: none)
+     * -c <i>str</i>   the directory of the cache of the encoded problems
+     * -s <i>str</i>   specifies save file name: the row of the run gives the planner, the domain,
+     *                 the problem, the plan length, the time in ms and the winner
+     * -h              print this message
+     *
+     * </pre>
+     *
+     * @param args the arguments of the command line.
+     */
+    public static void main(String[] args) {
+        final Properties arguments = Portfolio.parseCommandLine(args);
+        if (arguments == null) {
+            Portfolio.printUsage();
+            System.exit(0);
+        }
+        final File domain = (File) arguments.get(Planner.DOMAIN);
+        final File problem = (File) arguments.get(Planner.PROBLEM);
+        final ProblemCache cache = (ProblemCache) arguments.get("cache");
+        try {
+            final Portfolio portfolio = new Portfolio(arguments);
+            final CodedProblem pb = cache == null ? ProblemCache.ground(domain, problem) : cache.get(domain, problem);
+            Planner.getLogger().trace("\nencoding problem done successfully ("
+                    + pb.getOperators().size() + " ops, "
+                    + pb.getRelevantFacts().size() + " facts)\n");
+            if (!pb.isSolvable()) {
+                Planner.getLogger().trace(String.format("goal can be simplified to FALSE."
+                        + "no search will solve it%n%n"));
+                System.exit(0);
+            }
+
+            final long begin = System.currentTimeMillis();
+            final Plan plan = portfolio.search(pb);
+            final long execTime = System.currentTimeMillis() - begin;
+            if (plan != null) {
+                Planner.getLogger().trace(String.format("%nfound plan by %s as follows:%n%n%s",
+                        portfolio.getWinner(), pb.toString(plan)));
+            } else {
+                Planner.getLogger().trace(String.format("%nno plan found%n%n"));
+            }
+
+            final FileWriter csvWriter = (FileWriter) arguments.get("csvFile");
+            if (csvWriter != null) {
+                final List<String> rowData = Arrays.asList("Portfolio", domain.getName(), problem.getName(),
+                        Integer.toString(plan == null ? -1 : plan.size()), Long.toString(execTime),
+                        plan == null ? "none" : portfolio.getWinner());
+                csvWriter.append(String.join(",", rowData));
+                csvWriter.append("\n");
+                csvWriter.flush();
+                csvWriter.close();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            Planner.getLogger().trace(String.format("%n%s%n", e.getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // The planner cancelled may still be stopping
+        System.exit(0);
+    }
+
+    /**
+     * This class implements the outcome of a planner, i.e., its name and the plan it found.
+     */
+    private static final class Outcome {
+
+        /**
+         * The name of the planner.
+         */
+        private final String planner;
+
+        /**
+         * The plan found or null if no plan was found.
+         */
+        private final Plan plan;
+
+        /**
+         * Creates a new outcome.
+         *
+         * @param planner the name of the planner.
+         * @param plan    the plan found or null if no plan was found.
+         */
+        private Outcome(final String planner, final Plan plan) {
+            this.planner = planner;
+            this.plan = plan;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package fr.uga.pddl4j.tutorial.problem;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.parser.ErrorManager;
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.planners.ProblemFactory;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.CondBitExp;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class implements a persistent cache of encoded problems. An encoded problem is stored in a
+ * file of a directory, named after the SHA-256 digest of the contents of its domain and problem
+ * files, so a modified file gives a new entry and the stale entries are simply never read again.
+ * The file starts with a header made of a magic number, the version of the format, the version of
+ * PDDL4J, the digest and the length of the problem, followed by the problem serialized with the
+ * serialization of Java, the classes of PDDL4J being serializable. The file is read through a
+ * memory mapping, without copying it first in a buffer.
+ * <p>
+ * The version of PDDL4J is the version of its jar combined with the serial version of its classes
+ * of encoded problems; it is part of the digest as well, so the entries of another version of
+ * PDDL4J are not read. An entry that cannot be read, because it is truncated or was written by
+ * another version of PDDL4J, is ignored and replaced by the next store. The entries are written in a temporary file
+ * renamed at the end, so concurrent runs never read a partial entry.
+ * </p>
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+public final class ProblemCache {
+
+    /**
+     * The magic number of the cache files: "PDGC".
+     */
+    private static final int MAGIC = 0x50444743;
+
+    /**
+     * The version of the format of the cache files.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * The version of PDDL4J.
+     */
+    private static final long LIBRARY = ProblemCache.library();
+
+    /**
+     * The length of the header of the cache files: the magic number, the version of the format,
+     * the version of PDDL4J, the digest and the length of the problem.
+     */
+    private static final int HEADER = 4 + 4 + 8 + 32 + 8;
+
+    /**
+     * The lock serializing the parsing and the encoding of the problems, which rely on static
+     * state of PDDL4J.
+     */
+    private static final Object GROUNDING = new Object();
+
+    /**
+     * The directory of the cache.
+     */
+    private final File directory;
+
+    /**
+     * Creates a new cache stored in a directory. The directory is created by the first store.
+     *
+     * @param directory the directory of the cache.
+     */
+    public ProblemCache(final File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the encoded problem of a domain and a problem, loaded from the cache or grounded and
+     * stored in the cache.
+     *
+     * @param domain  the domain file.
+     * @param problem the problem file.
+     * @return the encoded problem.
+     * @throws IOException              if a file cannot be read.
+     * @throws IllegalArgumentException if the files are not a valid PDDL description.
+     */
+    public CodedProblem get(final File domain, final File problem) throws IOException {
+        CodedProblem pb = this.load(domain, problem);
+        if (pb == null) {
+            pb = ProblemCache.ground(domain, problem);
+            this.store(domain, problem, pb);
+        }
+        return pb;
+    }
+
+    /**
+     * Loads the encoded problem of a domain and a problem from the cache.
+     *
+     * @param domain  the domain file.
+     * @param problem the problem file.
+     * @return the encoded problem or null if it is not in the cache.
+     * @throws IOException if the domain or the problem file cannot be read.
+     */
+    public CodedProblem load(final File domain, final File problem) throws IOException {
+        final byte[] key = ProblemCache.digest(domain, problem);
+        final Path path = this.path(key);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER || buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                    || buffer.getLong() != LIBRARY) {
+                return null;
+            }
+            final byte[] stored = new byte[key.length];
+            buffer.get(stored);
+            final long length = buffer.getLong();
+            if (!Arrays.equals(stored, key) || length != buffer.remaining()) {
+                return null;
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new BufferInputStream(buffer))) {
+                return (CodedProblem) in.readObject();
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // A truncated entry or an entry of another version of PDDL4J
+            return null;
+        }
+    }
+
+    /**
+     * Stores the encoded problem of a domain and a problem in the cache. A failure to store the
+     * problem is not an error: the problem is only grounded again by the next run.
+     *
+     * @param domain  the domain file.
+     * @param problem the problem file.
+     * @param pb      the encoded problem.
+     * @throws IOException if the domain or the problem file cannot be read.
+     */
+    public void store(final File domain, final File problem, final CodedProblem pb) throws IOException {
+        final byte[] key = ProblemCache.digest(domain, problem);
+        final Path path = this.path(key);
+        Path tmp = null;
+        try {
+            Files.createDirectories(path.getParent());
+            tmp = Files.createTempFile(path.getParent(), "problem", ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                channel.position(HEADER);
+                final OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+                final ObjectOutputStream objects = new ObjectOutputStream(out);
+                objects.writeObject(pb);
+                objects.flush();
+                final ByteBuffer header = ByteBuffer.allocate(HEADER);
+                header.putInt(MAGIC).putInt(VERSION).putLong(LIBRARY).put(key).putLong(channel.size() - HEADER).flip();
+                channel.write(header, 0);
+            }
+            try {
+                Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tmp = null;
+        } catch (IOException e) {
+            // The problem is not stored, for instance if it holds a class that is not serializable
+            Planner.getLogger().trace(String.format("cannot store %s in the cache: %s%n", problem, e));
+        } finally {
+            if (tmp != null) {
+                Files.deleteIfExists(tmp);
+            }
+        }
+    }
+
+    /**
+     * Parses and encodes a problem. The parsing and the encoding are done by one thread at a time.
+     * The errors of the parser, if any, are printed.
+     *
+     * @param domain  the domain file.
+     * @param problem the problem file.
+     * @return the encoded problem.
+     * @throws IOException              if a file cannot be read.
+     * @throws IllegalArgumentException if the files are not a valid PDDL description.
+     */
+    public static CodedProblem ground(final File domain, final File problem) throws IOException {
+        synchronized (GROUNDING) {
+            final ProblemFactory factory = ProblemFactory.getInstance();
+            final ErrorManager errorManager = factory.parse(domain, problem);
+            if (!errorManager.isEmpty()) {
+                errorManager.printAll();
+                throw new IllegalArgumentException("invalid PDDL description " + domain + " " + problem);
+            }
+            return factory.encode();
+        }
+    }
+
+    /**
+     * Returns the path of the entry of a digest.
+     *
+     * @param key the digest.
+     * @return the path of the entry.
+     */
+    private Path path(final byte[] key) {
+        final StringBuilder name = new StringBuilder();
+        for (byte b : key) {
+            name.append(String.format("%02x", b));
+        }
+        return this.directory.toPath().resolve(name.append(".pb").toString());
+    }
+
+    /**
+     * Returns the version of PDDL4J: the version of its jar, if its manifest gives one, combined
+     * with the serial versions of the classes of the encoded problems.
+     *
+     * @return the version of PDDL4J.
+     */
+    private static long library() {
+        final Package pkg = CodedProblem.class.getPackage();
+        final String version = pkg == null ? null : pkg.getImplementationVersion();
+        long library = version == null ? 0 : version.hashCode();
+        for (Class<?> c : List.of(CodedProblem.class, BitOp.class, BitExp.class, CondBitExp.class)) {
+            final ObjectStreamClass stream = ObjectStreamClass.lookup(c);
+            library = 31 * library + (stream == null ? 0 : stream.getSerialVersionUID());
+        }
+        return library;
+    }
+
+    /**
+     * Returns the SHA-256 digest of the contents of a domain and a problem file and of the version
+     * of PDDL4J. The length of the domain is part of the digest, so that moving text from a file to
+     * the other changes it.
+     *
+     * @param domain  the domain file.
+     * @param problem the problem file.
+     * @return the digest.
+     * @throws IOException if a file cannot be read.
+     */
+    private static byte[] digest(final File domain, final File problem) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform provides SHA-256
+            throw new IllegalStateException(e);
+        }
+        final byte[] d = Files.readAllBytes(domain.toPath());
+        final byte[] p = Files.readAllBytes(problem.toPath());
+        digest.update(ByteBuffer.allocate(16).putLong(LIBRARY).putLong(d.length).array());
+        digest.update(d);
+        digest.update(p);
+        return digest.digest();
+    }
+
+    /**
+     * This class implements an input stream reading the remaining bytes of a buffer.
+     */
+    private static final class BufferInputStream extends InputStream {
+
+        /**
+         * The buffer.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Creates a new input stream.
+         *
+         * @param buffer the buffer.
+         */
+        private BufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Reads the next byte of the buffer.
+         *
+         * @return the next byte or -1 at the end of the buffer.
+         */
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        /**
+         * Reads bytes of the buffer.
+         *
+         * @param bytes  the array where the bytes are read.
+         * @param offset the offset of the first byte read in the array.
+         * @param length the maximum number of bytes read.
+         * @return the number of bytes read or -1 at the end of the buffer.
+         */
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            final int n = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, n);
+            return n;
+        }
+
+        /**
+         * Returns the number of bytes left in the buffer.
+         *
+         * @return the number of bytes left.
+         */
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+    }
+}
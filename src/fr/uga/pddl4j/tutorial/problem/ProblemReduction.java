@@ -0,0 +1,515 @@
+package fr.uga.pddl4j.tutorial.problem;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.util.BitExp;
+import fr.uga.pddl4j.util.BitOp;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.CondBitExp;
+import fr.uga.pddl4j.util.IntExp;
+import fr.uga.pddl4j.util.Plan;
+import fr.uga.pddl4j.util.SequentialPlan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class reduces an encoded problem before the search. The reduction removes:
+ * <ul>
+ * <li>the operators and the conditional effects that cannot be applied from the initial state,
+ * computed by a relaxed forward reachability analysis where the deletes are ignored;</li>
+ * <li>the static facts, i.e., the facts never reached, which are always false, and the facts of
+ * the initial state never deleted, which are always true: they are removed from the preconditions,
+ * the effects and the goal, and the operators requiring their opposite value are removed;</li>
+ * <li>the operators that change no fact relevant to the goal, the relevant facts being the facts
+ * of the goal and of the preconditions of the operators changing a relevant fact;</li>
+ * <li>the operators equivalent to a previous one, i.e., with the same cost, preconditions and
+ * effects once reduced.</li>
+ * </ul>
+ * These steps are repeated until nothing more is removed, then the facts and the operators kept are
+ * renumbered densely, so the states of the search and the variables of the SAT encoding only hold
+ * the facts kept. A plan of the reduced problem is translated back into a plan of the original
+ * problem with {@link #translate(Plan)}.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+public final class ProblemReduction {
+
+    /**
+     * The original problem.
+     */
+    private final CodedProblem original;
+
+    /**
+     * The reduced problem or null if the reduction proved the problem unsolvable.
+     */
+    private final CodedProblem reduced;
+
+    /**
+     * The original operator of each operator of the reduced problem.
+     */
+    private final Map<BitOp, BitOp> origins;
+
+    /**
+     * Reduces a problem.
+     *
+     * @param problem the problem to reduce.
+     */
+    public ProblemReduction(final CodedProblem problem) {
+        this.original = problem;
+        this.origins = new IdentityHashMap<>();
+        final int facts = problem.getRelevantFacts().size();
+        final List<Action> actions = new ArrayList<>();
+        for (int i = 0; i < problem.getOperators().size(); i++) {
+            actions.add(new Action(i, problem.getOperators().get(i)));
+        }
+        final BitSet init = new BitSet();
+        init.or(problem.getInit().getPositive());
+        final BitSet goalPos = new BitSet();
+        goalPos.or(problem.getGoal().getPositive());
+        final BitSet goalNeg = new BitSet();
+        goalNeg.or(problem.getGoal().getNegative());
+
+        final BitSet kept = new BitSet();
+        // The static facts already removed from the operators, the initial state and the goal
+        final BitSet removed = new BitSet();
+        boolean solvable = true;
+        int size = -1;
+        while (solvable && ProblemReduction.size(actions) != size) {
+            size = ProblemReduction.size(actions);
+            // The facts reachable, all the others are always false
+            final BitSet reachable = ProblemReduction.reach(init, actions);
+            // The facts of the initial state never deleted are always true
+            final BitSet always = new BitSet();
+            always.or(init);
+            for (Action a : actions) {
+                for (Effect e : a.effects) {
+                    always.andNot(e.del);
+                }
+            }
+            final BitSet never = new BitSet();
+            never.set(0, facts);
+            never.andNot(reachable);
+            never.andNot(removed);
+            ProblemReduction.simplify(actions, always, never);
+            solvable = !goalPos.intersects(never) && !goalNeg.intersects(always);
+            goalPos.andNot(always);
+            goalNeg.andNot(never);
+            init.andNot(always);
+            removed.or(always);
+            removed.or(never);
+            kept.clear();
+            ProblemReduction.relevance(actions, goalPos, goalNeg, kept);
+        }
+        if (!solvable) {
+            this.reduced = null;
+            return;
+        }
+        this.reduced = this.build(ProblemReduction.merge(actions), kept, init, goalPos, goalNeg);
+    }
+
+    /**
+     * Returns if the problem can be solved. A problem is unsolvable if its goal needs a fact never
+     * reached or the negation of a fact always true.
+     *
+     * @return <code>false</code> if the reduction proved that the problem has no plan;
+     *     <code>true</code> otherwise.
+     */
+    public boolean isSolvable() {
+        return this.reduced != null;
+    }
+
+    /**
+     * Returns the reduced problem.
+     *
+     * @return the reduced problem or null if the problem is unsolvable.
+     */
+    public CodedProblem getProblem() {
+        return this.reduced;
+    }
+
+    /**
+     * Translates a plan of the reduced problem into a plan of the original problem.
+     *
+     * @param plan the plan of the reduced problem or null.
+     * @return the plan of the original problem or null if the plan is null.
+     */
+    public Plan translate(final Plan plan) {
+        if (plan == null) {
+            return null;
+        }
+        final Plan translated = new SequentialPlan();
+        for (BitOp op : plan.actions()) {
+            translated.add(translated.size(), this.origins.get(op));
+        }
+        return translated;
+    }
+
+    /**
+     * Returns a summary of the reduction.
+     *
+     * @return a summary of the reduction.
+     */
+    @Override
+    public String toString() {
+        if (this.reduced == null) {
+            return "reduction: problem unsolvable";
+        }
+        return String.format("reduction: %d/%d ops, %d/%d facts", this.reduced.getOperators().size(),
+                this.original.getOperators().size(), this.reduced.getRelevantFacts().size(),
+                this.original.getRelevantFacts().size());
+    }
+
+    /**
+     * Returns the facts reachable from the initial state when the deletes are ignored. The
+     * operators not applicable in this relaxation and the effects whose condition is never
+     * satisfied are removed. The negative preconditions are ignored, so the analysis is sound.
+     *
+     * @param init    the initial state.
+     * @param actions the operators.
+     * @return the facts reachable.
+     */
+    private static BitSet reach(final BitSet init, final List<Action> actions) {
+        final BitSet reached = new BitSet();
+        reached.or(init);
+        final boolean[] applied = new boolean[actions.size()];
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < actions.size(); i++) {
+                final Action a = actions.get(i);
+                if (!ProblemReduction.contains(reached, a.pre)) {
+                    continue;
+                }
+                applied[i] = true;
+                for (Effect e : a.effects) {
+                    if (ProblemReduction.contains(reached, e.pos) && !ProblemReduction.contains(reached, e.add)) {
+                        reached.or(e.add);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        int k = 0;
+        for (int i = 0; i < actions.size(); i++) {
+            final Action a = actions.get(i);
+            if (applied[i]) {
+                a.effects.removeIf(e -> !ProblemReduction.contains(reached, e.pos));
+                actions.set(k++, a);
+            }
+        }
+        actions.subList(k, actions.size()).clear();
+        return reached;
+    }
+
+    /**
+     * Removes the static facts from the operators. The operators and the effects whose condition
+     * needs the opposite value of a static fact are removed.
+     *
+     * @param actions the operators.
+     * @param always  the facts always true.
+     * @param never   the facts always false.
+     */
+    private static void simplify(final List<Action> actions, final BitSet always, final BitSet never) {
+        actions.removeIf(a -> a.pre.intersects(never) || a.neg.intersects(always));
+        for (Action a : actions) {
+            a.pre.andNot(always);
+            a.neg.andNot(never);
+            a.effects.removeIf(e -> e.pos.intersects(never) || e.neg.intersects(always));
+            for (Effect e : a.effects) {
+                e.pos.andNot(always);
+                e.neg.andNot(never);
+                e.add.andNot(always);
+                e.del.andNot(never);
+            }
+            a.effects.removeIf(e -> e.add.isEmpty() && e.del.isEmpty());
+        }
+        actions.removeIf(a -> a.effects.isEmpty());
+    }
+
+    /**
+     * Computes the facts relevant to the goal and removes the operators that change no relevant
+     * fact. The changes of the facts not relevant are removed from the operators kept.
+     *
+     * @param actions  the operators.
+     * @param goalPos  the facts that must be true in the goal.
+     * @param goalNeg  the facts that must be false in the goal.
+     * @param relevant the set where the relevant facts are stored.
+     */
+    private static void relevance(final List<Action> actions, final BitSet goalPos, final BitSet goalNeg,
+                                  final BitSet relevant) {
+        relevant.or(goalPos);
+        relevant.or(goalNeg);
+        for (Action a : actions) {
+            a.effects.forEach(e -> e.useful = false);
+        }
+        final boolean[] useful = new boolean[actions.size()];
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < actions.size(); i++) {
+                final Action a = actions.get(i);
+                for (Effect e : a.effects) {
+                    if (!e.useful && (e.add.intersects(relevant) || e.del.intersects(relevant))) {
+                        e.useful = true;
+                        useful[i] = true;
+                        final int size = relevant.cardinality();
+                        relevant.or(a.pre);
+                        relevant.or(a.neg);
+                        relevant.or(e.pos);
+                        relevant.or(e.neg);
+                        changed |= relevant.cardinality() != size;
+                    }
+                }
+            }
+        }
+        int k = 0;
+        for (int i = 0; i < actions.size(); i++) {
+            final Action a = actions.get(i);
+            if (useful[i]) {
+                a.effects.removeIf(e -> !e.useful);
+                for (Effect e : a.effects) {
+                    e.add.and(relevant);
+                    e.del.and(relevant);
+                }
+                actions.set(k++, a);
+            }
+        }
+        actions.subList(k, actions.size()).clear();
+    }
+
+    /**
+     * Removes the operators equivalent to a previous operator, i.e., with the same cost, the same
+     * preconditions and the same effects.
+     *
+     * @param actions the operators.
+     * @return the operators kept.
+     */
+    private static List<Action> merge(final List<Action> actions) {
+        final Map<List<Object>, Action> signatures = new HashMap<>();
+        final List<Action> kept = new ArrayList<>();
+        for (Action a : actions) {
+            final List<Object> signature = new ArrayList<>(Arrays.asList(a.cost, a.pre, a.neg));
+            for (Effect e : a.effects) {
+                signature.addAll(Arrays.asList(e.pos, e.neg, e.add, e.del));
+            }
+            if (signatures.putIfAbsent(signature, a) == null) {
+                kept.add(a);
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Builds the reduced problem, the facts kept being renumbered densely.
+     *
+     * @param actions the operators kept.
+     * @param kept    the facts kept.
+     * @param init    the initial state.
+     * @param goalPos the facts that must be true in the goal.
+     * @param goalNeg the facts that must be false in the goal.
+     * @return the reduced problem.
+     */
+    private CodedProblem build(final List<Action> actions, final BitSet kept, final BitSet init,
+                               final BitSet goalPos, final BitSet goalNeg) {
+        final int[] index = new int[this.original.getRelevantFacts().size()];
+        Arrays.fill(index, -1);
+        final List<IntExp> facts = new ArrayList<>();
+        for (int f = kept.nextSetBit(0); f >= 0; f = kept.nextSetBit(f + 1)) {
+            index[f] = facts.size();
+            facts.add(this.original.getRelevantFacts().get(f));
+        }
+        final List<BitOp> operators = new ArrayList<>();
+        for (Action a : actions) {
+            final BitOp origin = this.original.getOperators().get(a.index);
+            final BitOp op = new BitOp(origin);
+            op.setPreconditions(ProblemReduction.remap(a.pre, a.neg, index));
+            final List<CondBitExp> effects = new ArrayList<>();
+            for (Effect e : a.effects) {
+                effects.add(new CondBitExp(ProblemReduction.remap(e.pos, e.neg, index),
+                        ProblemReduction.remap(e.add, e.del, index)));
+            }
+            op.setCondEffects(effects);
+            operators.add(op);
+            this.origins.put(op, origin);
+        }
+        final CodedProblem problem = new CodedProblem(this.original);
+        problem.setRelevantFacts(facts);
+        problem.setOperators(operators);
+        problem.setInit(ProblemReduction.remap(init, new BitSet(), index));
+        problem.setGoal(ProblemReduction.remap(goalPos, goalNeg, index));
+        return problem;
+    }
+
+    /**
+     * Returns the expression of a positive and a negative set of facts in the dense numbering. The
+     * facts not kept are dropped.
+     *
+     * @param pos   the positive facts.
+     * @param neg   the negative facts.
+     * @param index the new number of each fact or -1 if the fact is not kept.
+     * @return the expression.
+     */
+    private static BitExp remap(final BitSet pos, final BitSet neg, final int[] index) {
+        return new BitExp(ProblemReduction.remap(pos, index), ProblemReduction.remap(neg, index));
+    }
+
+    /**
+     * Returns a set of facts in the dense numbering. The facts not kept are dropped.
+     *
+     * @param facts the facts.
+     * @param index the new number of each fact or -1 if the fact is not kept.
+     * @return the facts in the dense numbering.
+     */
+    private static BitVector remap(final BitSet facts, final int[] index) {
+        final BitVector vector = new BitVector();
+        for (int f = facts.nextSetBit(0); f >= 0; f = facts.nextSetBit(f + 1)) {
+            if (index[f] != -1) {
+                vector.set(index[f]);
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Returns the size of a set of operators, i.e., the number of operators and of conditional
+     * effects, which decreases each time the reduction removes something.
+     *
+     * @param actions the operators.
+     * @return the size of the operators.
+     */
+    private static int size(final List<Action> actions) {
+        int size = actions.size();
+        for (Action a : actions) {
+            size += a.effects.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns if a set contains all the elements of another set.
+     *
+     * @param set    the set.
+     * @param subset the other set.
+     * @return <code>true</code> if <code>subset</code> is included in <code>set</code>;
+     *     <code>false</code> otherwise.
+     */
+    private static boolean contains(final BitSet set, final BitSet subset) {
+        for (int f = subset.nextSetBit(0); f >= 0; f = subset.nextSetBit(f + 1)) {
+            if (!set.get(f)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This class implements an operator being reduced, with the facts of the original numbering.
+     */
+    private static final class Action {
+
+        /**
+         * The index of the operator in the original problem.
+         */
+        private final int index;
+
+        /**
+         * The cost of the operator.
+         */
+        private final double cost;
+
+        /**
+         * The facts that must be true to apply the operator.
+         */
+        private final BitSet pre;
+
+        /**
+         * The facts that must be false to apply the operator.
+         */
+        private final BitSet neg;
+
+        /**
+         * The conditional effects of the operator.
+         */
+        private final List<Effect> effects;
+
+        /**
+         * Creates a new operator being reduced.
+         *
+         * @param index the index of the operator in the original problem.
+         * @param op    the operator.
+         */
+        private Action(final int index, final BitOp op) {
+            this.index = index;
+            this.cost = op.getCost();
+            this.pre = ProblemReduction.copy(op.getPreconditions().getPositive());
+            this.neg = ProblemReduction.copy(op.getPreconditions().getNegative());
+            this.effects = new ArrayList<>();
+            for (CondBitExp ce : op.getCondEffects()) {
+                this.effects.add(new Effect(ce));
+            }
+        }
+    }
+
+    /**
+     * This class implements a conditional effect being reduced, with the facts of the original
+     * numbering.
+     */
+    private static final class Effect {
+
+        /**
+         * The facts that must be true for the effect to hold.
+         */
+        private final BitSet pos;
+
+        /**
+         * The facts that must be false for the effect to hold.
+         */
+        private final BitSet neg;
+
+        /**
+         * The facts added.
+         */
+        private final BitSet add;
+
+        /**
+         * The facts deleted.
+         */
+        private final BitSet del;
+
+        /**
+         * Whether the effect changes a fact relevant to the goal.
+         */
+        private boolean useful;
+
+        /**
+         * Creates a new conditional effect being reduced.
+         *
+         * @param ce the conditional effect.
+         */
+        private Effect(final CondBitExp ce) {
+            this.pos = ProblemReduction.copy(ce.getCondition().getPositive());
+            this.neg = ProblemReduction.copy(ce.getCondition().getNegative());
+            this.add = ProblemReduction.copy(ce.getEffects().getPositive());
+            this.del = ProblemReduction.copy(ce.getEffects().getNegative());
+        }
+    }
+
+    /**
+     * Returns a copy of a set of facts as a plain bit set, so that the sets compare by content
+     * whatever the class of the original set.
+     *
+     * @param facts the set of facts.
+     * @return the copy.
+     */
+    private static BitSet copy(final BitSet facts) {
+        final BitSet copy = new BitSet();
+        copy.or(facts);
+        return copy;
+    }
+}
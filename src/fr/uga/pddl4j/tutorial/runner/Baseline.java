@@ -0,0 +1,190 @@
+package fr.uga.pddl4j.tutorial.runner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * This class compares results to the results of a previous run of the runner, stored in a CSV
+ * file. The runs of a job are summarized by the mean and the standard deviation of the times of
+ * the runs that found a plan, by the length of the shortest plan found and by the failures of the
+ * runs, i.e., their errors and timeouts. A job regresses when a job solved in the baseline now
+ * fails, when a plan found in the baseline is no more found, when its plan is longer, or when it
+ * is slower: its mean time is above the mean time of the baseline plus twice its standard
+ * deviation, and 10% above the mean time of the baseline, so that the noise of very fast or very
+ * stable jobs is not reported.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class Baseline {
+
+    /**
+     * The minimal ratio between the mean times of a slower job and of the baseline.
+     */
+    private static final double MIN_RATIO = 1.1;
+
+    /**
+     * The number of standard deviations above the mean time of the baseline of a slower job.
+     */
+    private static final double DEVIATIONS = 2.0;
+
+    /**
+     * The summary of the runs of each job of the baseline.
+     */
+    private final Map<List<String>, Summary> summaries;
+
+    /**
+     * Creates a new baseline.
+     *
+     * @param summaries the summary of the runs of each job.
+     */
+    private Baseline(final Map<List<String>, Summary> summaries) {
+        this.summaries = summaries;
+    }
+
+    /**
+     * Reads a baseline from a CSV file written by the runner.
+     *
+     * @param file the file.
+     * @return the baseline.
+     * @throws IOException if the file cannot be read.
+     */
+    static Baseline read(final File file) throws IOException {
+        final Map<List<String>, Summary> summaries = new HashMap<>();
+        for (String line : Files.readAllLines(file.toPath())) {
+            final String[] values = line.split(",");
+            if (values.length < 5) {
+                continue;
+            }
+            try {
+                final int makespan = Integer.parseInt(values[3]);
+                final long time = Long.parseLong(values[4]);
+                // The rows written without a status are solved if they have a plan
+                final String status = values.length > 5 ? values[5] : makespan == -1 ? Result.UNSOLVED : Result.SOLVED;
+                summaries.computeIfAbsent(List.of(values[0], values[1], values[2]), k -> new Summary())
+                        .add(makespan, time, status);
+            } catch (NumberFormatException e) {
+                // A header or a truncated line: it is ignored
+            }
+        }
+        return new Baseline(summaries);
+    }
+
+    /**
+     * Compares results to the baseline.
+     *
+     * @param results the results.
+     * @return the regressions found, one line per job.
+     */
+    List<String> compare(final Collection<Result> results) {
+        final Map<List<String>, Summary> current = new LinkedHashMap<>();
+        for (Result result : results) {
+            current.computeIfAbsent(result.getJob().getKey(), k -> new Summary())
+                    .add(result.getMakespan(), result.getTime(), result.getStatus());
+        }
+        final List<String> regressions = new ArrayList<>();
+        for (Map.Entry<List<String>, Summary> e : current.entrySet()) {
+            final Summary base = this.summaries.get(e.getKey());
+            if (base == null) {
+                continue;
+            }
+            final Summary now = e.getValue();
+            final String job = String.join(" ", e.getKey());
+            if (base.makespan != -1 && !now.failures.isEmpty()) {
+                regressions.add(job + ": " + String.join(" and ", now.failures)
+                        + " instead of solved (baseline makespan " + base.makespan + ")");
+            } else if (base.makespan != -1 && now.makespan == -1) {
+                regressions.add(job + ": plan lost (baseline makespan " + base.makespan + ")");
+            } else if (base.makespan != -1 && now.makespan > base.makespan) {
+                regressions.add(job + ": plan longer (" + now.makespan + " instead of " + base.makespan + ")");
+            } else if (base.count > 0 && now.count > 0 && now.mean() > base.mean() + DEVIATIONS * base.deviation()
+                    && now.mean() > MIN_RATIO * base.mean()) {
+                regressions.add(String.format("%s: slower (%.0f ms instead of %.0f +- %.0f ms)",
+                        job, now.mean(), base.mean(), base.deviation()));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * This class summarizes the runs of a job.
+     */
+    private static final class Summary {
+
+        /**
+         * The length of the shortest plan found or -1 if no plan was found.
+         */
+        private int makespan = -1;
+
+        /**
+         * The number of runs that found a plan.
+         */
+        private int count;
+
+        /**
+         * The sum of the times of the runs that found a plan.
+         */
+        private double sum;
+
+        /**
+         * The sum of the squares of the times of the runs that found a plan.
+         */
+        private double squares;
+
+        /**
+         * The statuses of the runs that failed with an error or a timeout.
+         */
+        private final Set<String> failures = new TreeSet<>();
+
+        /**
+         * Adds a run to the summary. Only the runs that found a plan count in the times: the
+         * other runs stop early on an error or late on a timeout.
+         *
+         * @param makespan the length of the plan found or -1 if no plan was found.
+         * @param time     the time of the run in milliseconds.
+         * @param status   the status of the run.
+         */
+        private void add(final int makespan, final long time, final String status) {
+            if (Result.ERROR.equals(status) || Result.TIMEOUT.equals(status)) {
+                this.failures.add(status);
+            }
+            if (!Result.SOLVED.equals(status)) {
+                return;
+            }
+            if (makespan != -1 && (this.makespan == -1 || makespan < this.makespan)) {
+                this.makespan = makespan;
+            }
+            this.count++;
+            this.sum += time;
+            this.squares += (double) time * time;
+        }
+
+        /**
+         * Returns the mean time of the runs that found a plan.
+         *
+         * @return the mean time of the runs.
+         */
+        private double mean() {
+            return this.sum / this.count;
+        }
+
+        /**
+         * Returns the standard deviation of the times of the runs that found a plan.
+         *
+         * @return the standard deviation of the times of the runs.
+         */
+        private double deviation() {
+            final double mean = this.mean();
+            return Math.sqrt(Math.max(0.0, this.squares / this.count - mean * mean));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package fr.uga.pddl4j.tutorial.runner;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * This class appends rows to a CSV file. The file is opened once and the rows can be appended by
+ * several threads, each row being written and flushed at once.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class CsvAppender implements AutoCloseable {
+
+    /**
+     * The writer of the file.
+     */
+    private final FileWriter writer;
+
+    /**
+     * Opens a CSV file to append rows to it.
+     *
+     * @param file the path of the file.
+     * @throws IOException if the file cannot be opened.
+     */
+    CsvAppender(final String file) throws IOException {
+        this.writer = new FileWriter(file, true);
+    }
+
+    /**
+     * Appends a row to the file.
+     *
+     * @param row the values of the row.
+     * @throws IOException if the row cannot be written.
+     */
+    synchronized void append(final List<String> row) throws IOException {
+        this.writer.append(String.join(",", row));
+        this.writer.append("\n");
+        this.writer.flush();
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        this.writer.close();
+    }
+}
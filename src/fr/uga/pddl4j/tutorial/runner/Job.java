@@ -0,0 +1,104 @@
+package fr.uga.pddl4j.tutorial.runner;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * This class describes a job of a suite: a planner run on a problem with a timeout.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class Job {
+
+    /**
+     * The planner of the job.
+     */
+    private final PlannerSpec planner;
+
+    /**
+     * The domain file.
+     */
+    private final File domain;
+
+    /**
+     * The problem file.
+     */
+    private final File problem;
+
+    /**
+     * The timeout of the job in seconds.
+     */
+    private final int timeout;
+
+    /**
+     * Creates a new job.
+     *
+     * @param planner the planner of the job.
+     * @param domain  the domain file.
+     * @param problem the problem file.
+     * @param timeout the timeout of the job in seconds.
+     */
+    Job(final PlannerSpec planner, final File domain, final File problem, final int timeout) {
+        this.planner = planner;
+        this.domain = domain;
+        this.problem = problem;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns the planner of the job.
+     *
+     * @return the planner of the job.
+     */
+    PlannerSpec getPlanner() {
+        return this.planner;
+    }
+
+    /**
+     * Returns the domain file.
+     *
+     * @return the domain file.
+     */
+    File getDomain() {
+        return this.domain;
+    }
+
+    /**
+     * Returns the problem file.
+     *
+     * @return the problem file.
+     */
+    File getProblem() {
+        return this.problem;
+    }
+
+    /**
+     * Returns the timeout of the job in seconds.
+     *
+     * @return the timeout of the job in seconds.
+     */
+    int getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * Returns the key identifying the results of the job in a baseline: the label of the planner,
+     * the domain file and the problem file.
+     *
+     * @return the key of the job.
+     */
+    List<String> getKey() {
+        return List.of(this.planner.getLabel(), this.domain.getPath(), this.problem.getName());
+    }
+
+    /**
+     * Returns a string representation of the job.
+     *
+     * @return a string representation of the job.
+     */
+    @Override
+    public String toString() {
+        return String.join(" ", this.getKey());
+    }
+}
@@ -0,0 +1,88 @@
+package fr.uga.pddl4j.tutorial.runner;
+
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.tutorial.asp.ASP;
+import fr.uga.pddl4j.tutorial.satplanner.SATPlanner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * This class describes a planner of a suite: its label in the results, its kind, asp or sat, and
+ * the options given to it as on its command line.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class PlannerSpec {
+
+    /**
+     * The label of the planner in the results.
+     */
+    private final String label;
+
+    /**
+     * The kind of the planner: asp or sat.
+     */
+    private final String kind;
+
+    /**
+     * The options of the planner.
+     */
+    private final List<String> options;
+
+    /**
+     * Creates a new planner description.
+     *
+     * @param label   the label of the planner in the results.
+     * @param kind    the kind of the planner: asp or sat.
+     * @param options the options of the planner.
+     * @throws IllegalArgumentException if the kind is unknown.
+     */
+    PlannerSpec(final String label, final String kind, final List<String> options) {
+        if (!"asp".equals(kind) && !"sat".equals(kind)) {
+            throw new IllegalArgumentException("unknown planner: " + kind);
+        }
+        this.label = label;
+        this.kind = kind;
+        this.options = List.copyOf(options);
+    }
+
+    /**
+     * Returns the label of the planner in the results.
+     *
+     * @return the label of the planner.
+     */
+    String getLabel() {
+        return this.label;
+    }
+
+    /**
+     * Creates the planner for a problem. The options of the planner are parsed as on its command
+     * line, the domain, the problem and the timeout being added to them.
+     *
+     * @param domain  the domain file.
+     * @param problem the problem file.
+     * @param timeout the timeout in seconds.
+     * @return the planner.
+     * @throws IllegalArgumentException if the options are invalid.
+     */
+    Planner create(final File domain, final File problem, final int timeout) {
+        final List<String> args = new ArrayList<>(Arrays.asList("-o", domain.getPath(), "-f", problem.getPath(),
+                "-t", Integer.toString(timeout)));
+        if ("sat".equals(this.kind)) {
+            args.add("-q");
+        }
+        args.addAll(this.options);
+        final String[] array = args.toArray(new String[0]);
+        final Properties arguments = "asp".equals(this.kind)
+                ? ASP.parseCommandLine(array) : SATPlanner.parseCommandLine(array);
+        if (arguments == null) {
+            throw new IllegalArgumentException("invalid options for " + this.label + ": " + this.options);
+        }
+        return "asp".equals(this.kind) ? new ASP(arguments) : new SATPlanner(arguments);
+    }
+}
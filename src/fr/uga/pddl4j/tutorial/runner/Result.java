@@ -0,0 +1,116 @@
+package fr.uga.pddl4j.tutorial.runner;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class describes the result of a job.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class Result {
+
+    /**
+     * The status of a job whose planner found a plan.
+     */
+    static final String SOLVED = "solved";
+
+    /**
+     * The status of a job whose planner stopped without a plan.
+     */
+    static final String UNSOLVED = "unsolved";
+
+    /**
+     * The status of a job cancelled by the runner at the end of its timeout.
+     */
+    static final String TIMEOUT = "timeout";
+
+    /**
+     * The status of a job that failed to parse, ground or search the problem.
+     */
+    static final String ERROR = "error";
+
+    /**
+     * The job.
+     */
+    private final Job job;
+
+    /**
+     * The length of the plan found or -1 if no plan was found.
+     */
+    private final int makespan;
+
+    /**
+     * The time of the search in milliseconds.
+     */
+    private final long time;
+
+    /**
+     * The status of the job.
+     */
+    private final String status;
+
+    /**
+     * Creates a new result.
+     *
+     * @param job      the job.
+     * @param makespan the length of the plan found or -1 if no plan was found.
+     * @param time     the time of the search in milliseconds.
+     * @param status   the status of the job.
+     */
+    Result(final Job job, final int makespan, final long time, final String status) {
+        this.job = job;
+        this.makespan = makespan;
+        this.time = time;
+        this.status = status;
+    }
+
+    /**
+     * Returns the job.
+     *
+     * @return the job.
+     */
+    Job getJob() {
+        return this.job;
+    }
+
+    /**
+     * Returns the length of the plan found.
+     *
+     * @return the length of the plan found or -1 if no plan was found.
+     */
+    int getMakespan() {
+        return this.makespan;
+    }
+
+    /**
+     * Returns the time of the search in milliseconds.
+     *
+     * @return the time of the search.
+     */
+    long getTime() {
+        return this.time;
+    }
+
+    /**
+     * Returns the status of the job.
+     *
+     * @return the status of the job.
+     */
+    String getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Returns the row of the result in a CSV file: the planner, the domain, the problem, the
+     * makespan, the time and the status, as the rows of the planners with one more column.
+     *
+     * @return the row of the result.
+     */
+    List<String> toRow() {
+        return Arrays.asList(this.job.getPlanner().getLabel(), this.job.getDomain().getPath(),
+                this.job.getProblem().getName(), Integer.toString(this.makespan), Long.toString(this.time),
+                this.status);
+    }
+}
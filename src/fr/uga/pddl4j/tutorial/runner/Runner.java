@@ -0,0 +1,345 @@
+package fr.uga.pddl4j.tutorial.runner;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.tutorial.asp.ASP;
+import fr.uga.pddl4j.tutorial.problem.ProblemCache;
+import fr.uga.pddl4j.tutorial.satplanner.SATPlanner;
+import fr.uga.pddl4j.util.Plan;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class implements a benchmark runner. The runner reads a suite of jobs, runs them in the same
+ * JVM on a bounded pool of threads and appends their results to a CSV file. Each job has a hard
+ * timeout: when the planner does not stop by itself after its timeout and a grace delay, its thread
+ * is interrupted and the job is reported as timed out. The results can be compared to the results
+ * of a previous run to report the regressions.
+ * <p>
+ * The jobs of a suite share the JVM, so only the first jobs pay the loading of the classes and the
+ * compilation of the code. The parsing and the encoding of the problems rely on static state of
+ * PDDL4J, so they are done by one job at a time; the searches run in parallel. With a cache of the
+ * encoded problems, the problems run several times are grounded only once.
+ * </p>
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+public final class Runner {
+
+    /**
+     * The arguments of the runner.
+     */
+    private final Properties arguments;
+
+    /**
+     * The appender of the results.
+     */
+    private final CsvAppender appender;
+
+    /**
+     * The timer interrupting the jobs at the end of their timeout.
+     */
+    private final ScheduledExecutorService watchdog;
+
+    /**
+     * Creates a new runner.
+     *
+     * @param arguments the arguments of the runner.
+     * @param appender  the appender of the results.
+     */
+    private Runner(final Properties arguments, final CsvAppender appender) {
+        this.arguments = arguments;
+        this.appender = appender;
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "runner-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the jobs of a suite on the pool of threads.
+     *
+     * @param jobs the jobs.
+     * @return the results of the jobs, in the order of the jobs.
+     * @throws InterruptedException if the runner is interrupted while waiting for the jobs.
+     */
+    private List<Result> run(final List<Job> jobs) throws InterruptedException {
+        final ExecutorService pool = Executors.newFixedThreadPool((int) this.arguments.get("threads"));
+        try {
+            final List<Future<Result>> futures = new ArrayList<>();
+            for (Job job : jobs) {
+                futures.add(pool.submit(() -> this.run(job)));
+            }
+            final List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    // The errors of the jobs are caught by the jobs themselves
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+            this.watchdog.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs a job and appends its result.
+     *
+     * @param job the job.
+     * @return the result of the job.
+     */
+    private Result run(final Job job) {
+        Result result;
+        try {
+            final Planner planner = job.getPlanner().create(job.getDomain(), job.getProblem(), job.getTimeout());
+            final ProblemCache cache = (ProblemCache) this.arguments.get("cache");
+            final CodedProblem problem = cache == null ? ProblemCache.ground(job.getDomain(), job.getProblem())
+                    : cache.get(job.getDomain(), job.getProblem());
+            if (!problem.isSolvable()) {
+                result = new Result(job, -1, 0, Result.UNSOLVED);
+            } else {
+                result = this.search(job, planner, problem);
+            }
+        } catch (IOException | RuntimeException e) {
+            Planner.getLogger().trace(String.format("%s: %s%n", job, e));
+            result = new Result(job, -1, 0, Result.ERROR);
+        }
+        try {
+            this.appender.append(result.toRow());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        Planner.getLogger().trace(String.format("%s%n", String.join(",", result.toRow())));
+        return result;
+    }
+
+    /**
+     * Searches a plan for a job. The planner is cancelled and the thread of the search interrupted
+     * if the planner does not stop by itself at the end of the timeout of the job and of the grace
+     * delay.
+     *
+     * @param job     the job.
+     * @param planner the planner of the job.
+     * @param problem the encoded problem of the job.
+     * @return the result of the job.
+     */
+    private Result search(final Job job, final Planner planner, final CodedProblem problem) {
+        final Watch watch = new Watch(Thread.currentThread(), planner);
+        final long delay = job.getTimeout() * 1000L + (long) this.arguments.get("grace");
+        final ScheduledFuture<?> alarm = this.watchdog.schedule(watch::cancel, delay, TimeUnit.MILLISECONDS);
+        final long begin = System.currentTimeMillis();
+        Plan plan = null;
+        try {
+            plan = planner.search(problem);
+        } finally {
+            alarm.cancel(false);
+            watch.finish();
+            // The interruption, if any, must not leak to the next job of the thread
+            Thread.interrupted();
+        }
+        final long time = System.currentTimeMillis() - begin;
+        if (plan != null) {
+            return new Result(job, plan.size(), time, Result.SOLVED);
+        }
+        return new Result(job, -1, time, watch.isCancelled() ? Result.TIMEOUT : Result.UNSOLVED);
+    }
+
+    /**
+     * Print the usage of the runner.
+     */
+    private static void printUsage() {
+        final StringBuilder strb = new StringBuilder();
+        strb.append("\nusage of Runner:\n")
+                .append("OPTIONS   DESCRIPTIONS\n")
+                .append("-f <str>    the suite file name\n")
+                .append("-s <str>    the CSV file where the results are appended (preset: runner.csv)\n")
+                .append("-b <str>    the CSV file of the results to compare to\n")
+                .append("-p <num>    the number of jobs run in parallel (preset: 1)\n")
+                .append("-g <num>    the delay in seconds given to a planner after its timeout (preset: 5)\n")
+                .append("-c <str>    the directory of the cache of the encoded problems\n")
+                .append("-h          print this message\n\n");
+        Planner.getLogger().trace(strb.toString());
+    }
+
+    /**
+     * Parse the command line and return the runner's arguments.
+     *
+     * @param args the command line.
+     * @return the runner arguments or null if an invalid argument is encountered.
+     */
+    private static Properties parseCommandLine(String[] args) {
+        final Properties arguments = new Properties();
+        arguments.put("csvFile", "runner.csv");
+        arguments.put("threads", 1);
+        arguments.put("grace", 5000L);
+
+        for (int i = 0; i < args.length; i += 2) {
+            if ("-f".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                if (!new File(args[i + 1]).exists()) return null;
+                arguments.put("suite", new File(args[i + 1]));
+            } else if ("-s".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                arguments.put("csvFile", args[i + 1]);
+            } else if ("-b".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                if (!new File(args[i + 1]).exists()) return null;
+                arguments.put("baseline", new File(args[i + 1]));
+            } else if ("-p".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                final int threads = Integer.parseInt(args[i + 1]);
+                if (threads < 1) return null;
+                arguments.put("threads", threads);
+            } else if ("-g".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                final long grace = Long.parseLong(args[i + 1]) * 1000L;
+                if (grace < 0) return null;
+                arguments.put("grace", grace);
+            } else if ("-c".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                arguments.put("cache", new ProblemCache(new File(args[i + 1])));
+            } else {
+                return null;
+            }
+        }
+        return arguments.get("suite") == null ? null : arguments;
+    }
+
+    /**
+     * The main method of the runner. The command line syntax is as follows:
+     *
+     * <pre>
+     * usage of Runner:
+     *
+     * OPTIONS   DESCRIPTIONS
+     *
+     * -f <i>str</i>   the suite file name
+     * -s <i>str</i>   the CSV file where the results are appended (preset: runner.csv)
+     * -b <i>str</i>   the CSV file of the results to compare to
+     * -p <i>num</i>   the number of jobs run in parallel (preset: 1)
+     * -g <i>num</i>   the delay in seconds given to a planner after its timeout (preset: 5)
+     * -c <i>str</i>   the directory of the cache of the encoded problems
+     * -h              print this message
+     *
+     * </pre>
+     *
+     * <p>
+     * The exit status is 1 if a regression is found with respect to the results given with -b.
+     * </p>
+     *
+     * @param args the arguments of the command line.
+     */
+    public static void main(String[] args) {
+        final Properties arguments = Runner.parseCommandLine(args);
+        if (arguments == null) {
+            Runner.printUsage();
+            System.exit(0);
+        }
+        try {
+            final Suite suite = Suite.read((File) arguments.get("suite"));
+            final File baselineFile = (File) arguments.get("baseline");
+            // The baseline is read first, since it can be the file where the results are appended
+            final Baseline baseline = baselineFile == null ? null : Baseline.read(baselineFile);
+            final List<Result> results;
+            try (CsvAppender appender = new CsvAppender((String) arguments.get("csvFile"))) {
+                results = new Runner(arguments, appender).run(suite.getJobs());
+            }
+            if (baseline != null) {
+                final List<String> regressions = baseline.compare(results);
+                for (String regression : regressions) {
+                    System.out.println("regression: " + regression);
+                }
+                System.exit(regressions.isEmpty() ? 0 : 1);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            Planner.getLogger().trace(String.format("%s%n", e.getMessage()));
+            System.exit(0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // The threads left by a planner after a timeout must not keep the JVM alive
+        System.exit(0);
+    }
+
+    /**
+     * This class guards the cancellation of a search, so that the planner is not cancelled and the
+     * thread not interrupted once the search is over.
+     */
+    private static final class Watch {
+
+        /**
+         * The thread of the search.
+         */
+        private final Thread thread;
+
+        /**
+         * The planner of the search.
+         */
+        private final Planner planner;
+
+        /**
+         * Whether the search is over.
+         */
+        private boolean finished;
+
+        /**
+         * Whether the search was interrupted.
+         */
+        private boolean cancelled;
+
+        /**
+         * Creates a new watch.
+         *
+         * @param thread  the thread of the search.
+         * @param planner the planner of the search.
+         */
+        private Watch(final Thread thread, final Planner planner) {
+            this.thread = thread;
+            this.planner = planner;
+        }
+
+        /**
+         * Cancels the planner and interrupts the thread of the search if the search is not over.
+         * An ASP planner interrupts its search and a SAT planner stops its solver, which does not
+         * check the interruption of its thread.
+         */
+        private synchronized void cancel() {
+            if (!this.finished) {
+                this.cancelled = true;
+                if (this.planner instanceof ASP) {
+                    ((ASP) this.planner).cancel();
+                } else if (this.planner instanceof SATPlanner) {
+                    ((SATPlanner) this.planner).cancel();
+                }
+                this.thread.interrupt();
+            }
+        }
+
+        /**
+         * Marks the search as over.
+         */
+        private synchronized void finish() {
+            this.finished = true;
+        }
+
+        /**
+         * Returns whether the search was interrupted.
+         *
+         * @return <code>true</code> if the search was interrupted; <code>false</code> otherwise.
+         */
+        private synchronized boolean isCancelled() {
+            return this.cancelled;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package fr.uga.pddl4j.tutorial.runner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class describes a suite of jobs read from a file. Each line of the file is a directive, the
+ * lines starting with <code>#</code> being comments:
+ * <ul>
+ * <li><code>planner &lt;label&gt; &lt;asp|sat&gt; [options]</code> adds a planner with the options
+ * of its command line;</li>
+ * <li><code>timeout &lt;seconds&gt;</code> sets the timeout of the jobs (preset: 300);</li>
+ * <li><code>repeat &lt;num&gt;</code> sets the number of runs of each job (preset: 1);</li>
+ * <li><code>problems &lt;domain&gt; &lt;problems&gt;</code> adds problems of a domain, the name
+ * of a problem file being possibly a glob pattern such as <code>pddl/blocks/p*.pddl</code>.</li>
+ * </ul>
+ * Every planner is run on every problem, as <code>script_exec.sh</code> does.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class Suite {
+
+    /**
+     * The planners of the suite.
+     */
+    private final List<PlannerSpec> planners;
+
+    /**
+     * The domain of each problem.
+     */
+    private final List<File> domains;
+
+    /**
+     * The problems of the suite.
+     */
+    private final List<File> problems;
+
+    /**
+     * The timeout of the jobs in seconds.
+     */
+    private int timeout;
+
+    /**
+     * The number of runs of each job.
+     */
+    private int repeat;
+
+    /**
+     * Creates a new empty suite.
+     */
+    private Suite() {
+        this.planners = new ArrayList<>();
+        this.domains = new ArrayList<>();
+        this.problems = new ArrayList<>();
+        this.timeout = 300;
+        this.repeat = 1;
+    }
+
+    /**
+     * Reads a suite from a file.
+     *
+     * @param file the file of the suite.
+     * @return the suite.
+     * @throws IOException              if the file cannot be read.
+     * @throws IllegalArgumentException if a line of the file is invalid.
+     */
+    static Suite read(final File file) throws IOException {
+        final Suite suite = new Suite();
+        int number = 0;
+        for (String line : Files.readAllLines(file.toPath())) {
+            number++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            final String[] words = line.split("\\s+");
+            try {
+                suite.parse(words);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(file + ":" + number + ": " + e.getMessage());
+            }
+        }
+        if (suite.planners.isEmpty() || suite.problems.isEmpty()) {
+            throw new IllegalArgumentException(file + ": no planner or no problem");
+        }
+        return suite;
+    }
+
+    /**
+     * Parses a directive of the suite.
+     *
+     * @param words the words of the directive.
+     * @throws IOException              if a directory of problems cannot be read.
+     * @throws IllegalArgumentException if the directive is invalid.
+     */
+    private void parse(final String[] words) throws IOException {
+        switch (words[0]) {
+            case "planner":
+                if (words.length < 3) {
+                    throw new IllegalArgumentException("planner <label> <asp|sat> [options]");
+                }
+                this.planners.add(new PlannerSpec(words[1], words[2],
+                        Arrays.asList(words).subList(3, words.length)));
+                break;
+            case "timeout":
+                this.timeout = Suite.parsePositive(words);
+                break;
+            case "repeat":
+                this.repeat = Suite.parsePositive(words);
+                break;
+            case "problems":
+                if (words.length < 3) {
+                    throw new IllegalArgumentException("problems <domain> <problems>");
+                }
+                final File domain = new File(words[1]);
+                for (int i = 2; i < words.length; i++) {
+                    for (File problem : Suite.expand(words[i])) {
+                        this.domains.add(domain);
+                        this.problems.add(problem);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("unknown directive: " + words[0]);
+        }
+    }
+
+    /**
+     * Returns the jobs of the suite, each job being repeated as many times as requested.
+     *
+     * @return the jobs of the suite.
+     */
+    List<Job> getJobs() {
+        final List<Job> jobs = new ArrayList<>();
+        for (int r = 0; r < this.repeat; r++) {
+            for (int i = 0; i < this.problems.size(); i++) {
+                for (PlannerSpec planner : this.planners) {
+                    jobs.add(new Job(planner, this.domains.get(i), this.problems.get(i), this.timeout));
+                }
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Parses the positive integer of a directive.
+     *
+     * @param words the words of the directive.
+     * @return the integer.
+     * @throws IllegalArgumentException if the directive has no positive integer.
+     */
+    private static int parsePositive(final String[] words) {
+        try {
+            final int value = words.length == 2 ? Integer.parseInt(words[1]) : -1;
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // The error is reported below
+        }
+        throw new IllegalArgumentException(words[0] + " <num>");
+    }
+
+    /**
+     * Returns the files matching a path whose name can be a glob pattern. The files are sorted by
+     * name so that the order of the jobs does not depend on the file system.
+     *
+     * @param pattern the path.
+     * @return the files matching the path.
+     * @throws IOException if the directory of the path cannot be read.
+     */
+    private static List<File> expand(final String pattern) throws IOException {
+        final Path path = Paths.get(pattern);
+        final List<File> files = new ArrayList<>();
+        if (!pattern.contains("*") && !pattern.contains("?") && !pattern.contains("[")) {
+            files.add(path.toFile());
+            return files;
+        }
+        final Path dir = path.getParent() == null ? Paths.get(".") : path.getParent();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, path.getFileName().toString())) {
+            for (Path p : stream) {
+                files.add(path.getParent() == null ? p.getFileName().toFile() : p.toFile());
+            }
+        }
+        files.sort(null);
+        return files;
+    }
+}
@@ -268,7 +268,7 @@ public final class SATEncoding {
      * @param step   l'étape à laquelle il doit etre encodé
      * @return le couplage des deux nombres
      */
-    private static int pair(int bitnum, int step) {
+    static int pair(int bitnum, int step) {
         //Using Cantor paring function to generate unique number
         return (int) (0.5 * (bitnum + step) * (bitnum + step + 1) + step) + 1;
     }
@@ -7,6 +7,8 @@ import fr.uga.pddl4j.planners.Planner;
 import fr.uga.pddl4j.planners.ProblemFactory;
 import fr.uga.pddl4j.planners.statespace.AbstractStateSpacePlanner;
 import fr.uga.pddl4j.planners.statespace.StateSpacePlanner;
+import fr.uga.pddl4j.tutorial.problem.ProblemCache;
+import fr.uga.pddl4j.tutorial.problem.ProblemReduction;
 import fr.uga.pddl4j.util.*;
 
 import java.io.File;
@@ -39,6 +41,16 @@ public final class SATPlanner extends AbstractStateSpacePlanner {
      */
     private final Properties arguments;
 
+    /*
+     * Le solveur en cours d'utilisation, arrete par cancel().
+     */
+    private volatile ISolver solver;
+
+    /*
+     * Vrai si la recherche a ete annulee.
+     */
+    private volatile boolean cancelled;
+
     /**
      * Creates a new SAT planner with the default parameters.
      *
@@ -49,6 +61,18 @@ public final class SATPlanner extends AbstractStateSpacePlanner {
         this.arguments = arguments;
     }
 
+    /**
+     * Cancels the search in progress, if any, and the next searches. The solver in use is stopped
+     * as at its timeout and the search returns null.
+     */
+    public void cancel() {
+        this.cancelled = true;
+        final ISolver current = this.solver;
+        if (current != null) {
+            current.expireTimeout();
+        }
+    }
+
     /**
      * Solves the planning problem and returns the first solution found.
      *
@@ -57,6 +81,24 @@ public final class SATPlanner extends AbstractStateSpacePlanner {
      */
     @Override
     public Plan search(final CodedProblem problem) {
+        //le probleme reduit a moins de variables et de clauses, son plan est traduit a la fin
+        if ((boolean) this.arguments.get("reduce")) {
+            final ProblemReduction reduction = new ProblemReduction(problem);
+            if ((int) arguments.get("quiet") == 0) {
+                Planner.getLogger().trace(String.format("%n%s%n", reduction));
+            }
+            return reduction.isSolvable() ? reduction.translate(this.solve(reduction.getProblem())) : null;
+        }
+        return this.solve(problem);
+    }
+
+    /**
+     * Solves the planning problem with the SAT solver.
+     *
+     * @param problem the problem to be solved.
+     * @return a solution search or null if it does not exist.
+     */
+    private Plan solve(final CodedProblem problem) {
         // The solution plan is sequential
         final Plan plan = new SequentialPlan();
         // We get the initial state from the planning problem
@@ -74,6 +116,7 @@ public final class SATPlanner extends AbstractStateSpacePlanner {
             int NBCLAUSES = 100000;
 
             ISolver solver = SolverFactory.newDefault();
+            this.solver = solver;
             IProblem ip = null;
 
             int max_step = (Integer) this.arguments.get("steps");
@@ -90,6 +133,10 @@ public final class SATPlanner extends AbstractStateSpacePlanner {
                         solver.newVar(MAXVAR);
                         solver.setExpectedNumberOfClauses(NBCLAUSES);
                         solver.setTimeout(timeout);
+                        //reset() annule un expireTimeout() anterieur, donc on reverifie l'annulation
+                        if (this.cancelled) {
+                            break;
+                        }
                         if ((int) arguments.get("quiet") == 0)
                             System.out.println("On esssaie de resoudre a l'etape " + current_step);
                         //on genere les clauses a l'etape +1
@@ -110,14 +157,15 @@ public final class SATPlanner extends AbstractStateSpacePlanner {
                             System.out.println("SAT encoding failure!");
                         current_step++;
                     }
-                } while ((current_step < max_step));
+                    //on s'arrete si le thread du planificateur est interrompu
+                } while ((current_step < max_step) && !this.cancelled && !Thread.currentThread().isInterrupted());
                 //si on atteint la borne temporelle on s'arrete
             } catch (TimeoutException e) {
                 System.out.println("Timeout! No solution found!");
                 return null;
             }
 
-            if (current_step == max_step) {
+            if (current_step == max_step || this.cancelled || Thread.currentThread().isInterrupted()) {
                 return null;
             }
 
@@ -171,6 +219,8 @@ public final class SATPlanner extends AbstractStateSpacePlanner {
                 "-t <num>    SAT solver timeout in seconds\n" +
                 "-n <num>    Max number of steps\n" +
                 "-q          quiet console output\n" +
+                "-c <str>    directory of the cache of the encoded problems\n" +
+                "-x          reduce the problem before the encoding\n" +
                 "-s <str>   specifies save file name\n" +
                 "-h          print this message\n\n";
         Planner.getLogger().trace(strb);
@@ -182,12 +232,13 @@ public final class SATPlanner extends AbstractStateSpacePlanner {
      * @param args the command line.
      * @return the planner arguments or null if an invalid argument is encountered.
      */
-    private static Properties parseCommandLine(String[] args) {
+    public static Properties parseCommandLine(String[] args) {
 
         // Get the default arguments from the super class
         final Properties arguments = StateSpacePlanner.getDefaultArguments();
         arguments.put("quiet", 0);
         arguments.put("steps", 200000);
+        arguments.put("reduce", false);
         arguments.put(Planner.TIMEOUT, 300);
         // Parse the command line and update the default argument value
         for (int i = 0; i < args.length; i += 2) {
@@ -207,6 +258,11 @@ public final class SATPlanner extends AbstractStateSpacePlanner {
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
+            } else if ("-c".equalsIgnoreCase(args[i]) && ((i + 1) < args.length)) {
+                arguments.put("cache", new ProblemCache(new File(args[i + 1])));
+            } else if ("-x".equalsIgnoreCase(args[i])) {
+                arguments.put("reduce", true);
+                i--;
             } else if ("-q".equalsIgnoreCase(args[i])) {
                 arguments.put("quiet", 1);
                 i--;
@@ -237,6 +293,8 @@ public final class SATPlanner extends AbstractStateSpacePlanner {
      * -t <i>num</i>   specifies the maximum CPU-time in seconds
      * -n <i>num</i>   specifies the maximum number of steps
      * -q              quiet console output
+     * -c <i>str</i>   directory of the cache of the encoded problems
+     * -x              reduce the problem before the encoding
      * -s <i>str</i>   specifies save file name
      * -h              print this message
      *
@@ -250,28 +308,53 @@ public final class SATPlanner extends AbstractStateSpacePlanner {
         }
 
         final SATPlanner planner = new SATPlanner(arguments);
-        final ProblemFactory factory = ProblemFactory.getInstance();
-
         File domain = (File) arguments.get(Planner.DOMAIN);
         File problem = (File) arguments.get(Planner.PROBLEM);
-        ErrorManager errorManager = null;
-        try {
-            errorManager = factory.parse(domain, problem);
-        } catch (IOException e) {
-            Planner.getLogger().trace("\nUnexpected error when parsing the PDDL files.");
-            System.exit(0);
+        //le probleme encode est charge depuis le cache s'il a deja ete instancie
+        final ProblemCache cache = (ProblemCache) arguments.get("cache");
+        CodedProblem cached = null;
+        if (cache != null) {
+            try {
+                cached = cache.load(domain, problem);
+            } catch (IOException e) {
+                Planner.getLogger().trace("\nUnexpected error when reading the PDDL files.");
+                System.exit(0);
+            }
         }
-
-        if (!errorManager.isEmpty()) {
-            errorManager.printAll();
-            System.exit(0);
-        } else {
+        final CodedProblem pb;
+        if (cached != null) {
+            pb = cached;
             if ((int) arguments.get("quiet") == 0) {
-                Planner.getLogger().trace("\nParsing domain file: successfully done");
-                Planner.getLogger().trace("\nParsing problem file: successfully done\n");
+                Planner.getLogger().trace("\nLoading from cache: successfully done\n");
+            }
+        } else {
+            final ProblemFactory factory = ProblemFactory.getInstance();
+            ErrorManager errorManager = null;
+            try {
+                errorManager = factory.parse(domain, problem);
+            } catch (IOException e) {
+                Planner.getLogger().trace("\nUnexpected error when parsing the PDDL files.");
+                System.exit(0);
+            }
+
+            if (!errorManager.isEmpty()) {
+                errorManager.printAll();
+                System.exit(0);
+            } else {
+                if ((int) arguments.get("quiet") == 0) {
+                    Planner.getLogger().trace("\nParsing domain file: successfully done");
+                    Planner.getLogger().trace("\nParsing problem file: successfully done\n");
+                }
+            }
+            pb = factory.encode();
+            if (cache != null) {
+                try {
+                    cache.store(domain, problem, pb);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
             }
         }
-        final CodedProblem pb = factory.encode();
         if ((int) arguments.get("quiet") == 0) {
             Planner.getLogger().trace("\nGrounding: successfully done ("
                     + pb.getOperators().size() + " ops, "
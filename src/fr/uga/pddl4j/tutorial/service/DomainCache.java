@@ -0,0 +1,178 @@
+package fr.uga.pddl4j.tutorial.service;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.encoding.Encoder;
+import fr.uga.pddl4j.parser.ErrorManager;
+import fr.uga.pddl4j.parser.Parser;
+import fr.uga.pddl4j.tutorial.problem.ProblemCache;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class keeps the domains parsed recently, so that a problem of a known domain is encoded
+ * without parsing its domain again. A domain is parsed again when its file is modified. The
+ * parser of PDDL4J and its encoder are not thread safe, so the problems are grounded by one thread
+ * at a time. With a cache of the encoded problems, a problem already grounded is loaded from the
+ * cache instead.
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class DomainCache {
+
+    /**
+     * The number of domains kept in the cache.
+     */
+    private static final int CACHE_SIZE = 16;
+
+    /**
+     * The parser of each domain, by canonical path of the domain file.
+     */
+    private final LinkedHashMap<String, Entry> entries;
+
+    /**
+     * The cache of the encoded problems or null if there is none.
+     */
+    private final ProblemCache problems;
+
+    /**
+     * The number of problems whose domain was found in the cache.
+     */
+    private long hits;
+
+    /**
+     * The number of problems whose domain was parsed.
+     */
+    private long misses;
+
+    /**
+     * Creates a new empty cache.
+     *
+     * @param problems the cache of the encoded problems or null if there is none.
+     */
+    DomainCache(final ProblemCache problems) {
+        this.problems = problems;
+        this.entries = new LinkedHashMap<String, Entry>(CACHE_SIZE * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                return this.size() > CACHE_SIZE;
+            }
+        };
+    }
+
+    /**
+     * Parses a problem with its domain, taken from the cache if possible, and encodes it, unless
+     * the encoded problem is in the cache of the encoded problems.
+     *
+     * @param domain  the domain file.
+     * @param problem the problem file.
+     * @return the encoded problem.
+     * @throws IOException              if a file cannot be read.
+     * @throws IllegalArgumentException if a file is not a valid PDDL description.
+     */
+    synchronized CodedProblem ground(final File domain, final File problem) throws IOException {
+        if (this.problems != null) {
+            final CodedProblem pb = this.problems.load(domain, problem);
+            if (pb != null) {
+                return pb;
+            }
+        }
+        final Parser parser = this.parser(domain);
+        final ErrorManager errors = parser.getErrorManager();
+        try {
+            parser.parseProblem(problem);
+        } catch (FileNotFoundException e) {
+            throw new IllegalArgumentException("no problem file " + problem);
+        }
+        if (!errors.isEmpty()) {
+            errors.clear();
+            throw new IllegalArgumentException("invalid problem " + problem);
+        }
+        final CodedProblem pb = Encoder.encode(parser.getDomain(), parser.getProblem());
+        if (this.problems != null) {
+            this.problems.store(domain, problem, pb);
+        }
+        return pb;
+    }
+
+    /**
+     * Returns the number of problems whose domain was found in the cache.
+     *
+     * @return the number of hits.
+     */
+    synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Returns the number of problems whose domain was parsed.
+     *
+     * @return the number of misses.
+     */
+    synchronized long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Returns the parser holding a domain, parsing the domain if it is not in the cache or if its
+     * file was modified since it was parsed.
+     *
+     * @param domain the domain file.
+     * @return the parser holding the domain.
+     * @throws IOException              if the domain file cannot be read.
+     * @throws IllegalArgumentException if the domain file is not a valid PDDL domain.
+     */
+    private Parser parser(final File domain) throws IOException {
+        final String key = domain.getCanonicalPath();
+        final Entry entry = this.entries.get(key);
+        if (entry != null && entry.modified == domain.lastModified()) {
+            this.hits++;
+            return entry.parser;
+        }
+        this.misses++;
+        final Parser parser = new Parser();
+        try {
+            parser.parseDomain(domain);
+        } catch (FileNotFoundException e) {
+            throw new IllegalArgumentException("no domain file " + domain);
+        }
+        if (!parser.getErrorManager().isEmpty()) {
+            this.entries.remove(key);
+            throw new IllegalArgumentException("invalid domain " + domain);
+        }
+        this.entries.put(key, new Entry(parser, domain.lastModified()));
+        return parser;
+    }
+
+    /**
+     * This class implements an entry of the cache, i.e., a parser holding a domain and the date of
+     * the domain file when it was parsed.
+     */
+    private static final class Entry {
+
+        /**
+         * The parser holding the domain.
+         */
+        private final Parser parser;
+
+        /**
+         * The date of the last modification of the domain file.
+         */
+        private final long modified;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param parser   the parser holding the domain.
+         * @param modified the date of the last modification of the domain file.
+         */
+        private Entry(final Parser parser, final long modified) {
+            this.parser = parser;
+            this.modified = modified;
+        }
+    }
+}
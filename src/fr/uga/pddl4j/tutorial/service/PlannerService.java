@@ -0,0 +1,152 @@
+package fr.uga.pddl4j.tutorial.service;
+
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.tutorial.problem.ProblemCache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class implements a planner service. The service runs in a single JVM and serves requests
+ * read from its standard input or from the clients connected to a local port. The domains are
+ * parsed once and kept in a cache, and the requests are run in parallel on a bounded pool of
+ * threads, so a request pays neither the start of a JVM nor the parsing of its domain. The
+ * protocol is described in {@link Session}.
+ * <p>
+ * For instance, the following session searches a plan with ASP and cancels a search of
+ * SATPlanner:
+ * </p>
+ * <pre>
+ * &gt; solve 1 asp pddl/depot/domain.pddl pddl/depot/p01.pddl -e gbfs
+ * &gt; solve 2 sat pddl/depot/domain.pddl pddl/depot/p20.pddl
+ * queued 1
+ * queued 2
+ * plan 1 00: ( lift hoist1 crate1 pallet1 depot0) [1]
+ * ...
+ * done 1 solved 10 120 35
+ * &gt; cancel 2
+ * done 2 cancelled -1 4 2210
+ * </pre>
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+public final class PlannerService {
+
+    /**
+     * Creates a new planner service.
+     */
+    private PlannerService() {
+    }
+
+    /**
+     * Print the usage of the service.
+     */
+    private static void printUsage() {
+        final StringBuilder strb = new StringBuilder();
+        strb.append("\nusage of PlannerService:\n")
+                .append("OPTIONS   DESCRIPTIONS\n")
+                .append("-P <num>    the local port of the service, or 0 to read the requests from the\n")
+                .append("            standard input (preset: 0)\n")
+                .append("-p <num>    the number of requests run in parallel (preset: 1)\n")
+                .append("-c <str>    the directory of the cache of the encoded problems\n")
+                .append("-h          print this message\n\n");
+        Planner.getLogger().trace(strb.toString());
+    }
+
+    /**
+     * Parse the command line and return the service's arguments.
+     *
+     * @param args the command line.
+     * @return the service arguments or null if an invalid argument is encountered.
+     */
+    private static Properties parseCommandLine(String[] args) {
+        final Properties arguments = new Properties();
+        arguments.put("port", 0);
+        arguments.put("threads", 1);
+        for (int i = 0; i < args.length; i += 2) {
+            if ("-P".equals(args[i]) && ((i + 1) < args.length)) {
+                final int port = Integer.parseInt(args[i + 1]);
+                if (port < 0 || port > 65535) return null;
+                arguments.put("port", port);
+            } else if ("-p".equals(args[i]) && ((i + 1) < args.length)) {
+                final int threads = Integer.parseInt(args[i + 1]);
+                if (threads < 1) return null;
+                arguments.put("threads", threads);
+            } else if ("-c".equals(args[i]) && ((i + 1) < args.length)) {
+                arguments.put("cache", new ProblemCache(new File(args[i + 1])));
+            } else {
+                return null;
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * The main method of the service. The command line syntax is as follows:
+     *
+     * <pre>
+     * usage of PlannerService:
+     *
+     * OPTIONS   DESCRIPTIONS
+     *
+     * -P <i>num</i>   the local port of the service, or 0 to read the requests from the
+     *                 standard input (preset: 0)
+     * -p <i>num</i>   the number of requests run in parallel (preset: 1)
+     * -c <i>str</i>   the directory of the cache of the encoded problems
+     * -h              print this message
+     *
+     * </pre>
+     *
+     * <p>
+     * The port is bound to the loopback address only. On the standard input, the service stops at
+     * the end of the input, once the requests are done; the messages of the planners are then
+     * written to the standard error so that the standard output only holds the answers.
+     * </p>
+     *
+     * @param args the arguments of the command line.
+     */
+    public static void main(String[] args) {
+        // The standard output is kept for the answers before any planner writes to it
+        final PrintStream answers = System.out;
+        final Properties arguments = PlannerService.parseCommandLine(args);
+        if (arguments == null) {
+            PlannerService.printUsage();
+            System.exit(0);
+        }
+        final int port = (int) arguments.get("port");
+        final DomainCache cache = new DomainCache((ProblemCache) arguments.get("cache"));
+        final ExecutorService pool = Executors.newFixedThreadPool((int) arguments.get("threads"));
+        if (port == 0) {
+            System.setOut(System.err);
+            new Session(System.in, answers, cache, pool).run();
+            pool.shutdownNow();
+            System.exit(0);
+        }
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            Planner.getLogger().trace(String.format("listening on %s%n", server.getLocalSocketAddress()));
+            while (true) {
+                final Socket client = server.accept();
+                final Thread thread = new Thread(() -> {
+                    try (Socket socket = client) {
+                        new Session(socket.getInputStream(), socket.getOutputStream(), cache, pool).run();
+                    } catch (IOException e) {
+                        // The client is gone
+                    }
+                }, "session-" + client.getPort());
+                thread.setDaemon(true);
+                thread.start();
+            }
+        } catch (IOException e) {
+            Planner.getLogger().trace(String.format("%s%n", e.getMessage()));
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package fr.uga.pddl4j.tutorial.service;
+
+import fr.uga.pddl4j.encoding.CodedProblem;
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.tutorial.asp.ASP;
+import fr.uga.pddl4j.tutorial.satplanner.SATPlanner;
+import fr.uga.pddl4j.util.Plan;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * This class serves the requests of a client, read line by line from an input stream. The answers
+ * are written line by line to an output stream, as soon as they are known, so the answers of
+ * several requests can be interleaved: each answer starts with the identifier of its request.
+ * <p>
+ * The requests are:
+ * <ul>
+ * <li><code>solve &lt;id&gt; &lt;asp|sat&gt; &lt;domain&gt; &lt;problem&gt; [options]</code>
+ * searches a plan with the options of the command line of the planner. The request is answered by
+ * <code>queued &lt;id&gt;</code>, then by one <code>plan &lt;id&gt; &lt;action&gt;</code> line per
+ * action of the plan found, and at last by <code>done &lt;id&gt; &lt;status&gt; &lt;makespan&gt;
+ * &lt;grounding time&gt; &lt;search time&gt;</code>, the status being solved, unsolved or
+ * cancelled, and the times being in milliseconds. If the request fails, the last line is
+ * <code>done &lt;id&gt; error &lt;message&gt;</code>.</li>
+ * <li><code>cancel &lt;id&gt;</code> cancels a request, queued or running.</li>
+ * <li><code>status</code> is answered by <code>status &lt;requests running or queued&gt;
+ * &lt;domains found in the cache&gt; &lt;domains parsed&gt;</code>.</li>
+ * <li><code>quit</code> ends the session once its requests are done, as the end of the input
+ * stream does.</li>
+ * </ul>
+ *
+ * @author E. Reat
+ * @version 1.0 - 18.10.2026
+ */
+final class Session implements Runnable {
+
+    /**
+     * The input stream of the requests.
+     */
+    private final BufferedReader input;
+
+    /**
+     * The output stream of the answers.
+     */
+    private final PrintWriter output;
+
+    /**
+     * The cache of the domains.
+     */
+    private final DomainCache cache;
+
+    /**
+     * The pool of threads running the requests.
+     */
+    private final ExecutorService pool;
+
+    /**
+     * The requests queued or running, by identifier.
+     */
+    private final Map<String, Request> requests;
+
+    /**
+     * Creates a new session.
+     *
+     * @param input  the input stream of the requests.
+     * @param output the output stream of the answers.
+     * @param cache  the cache of the domains.
+     * @param pool   the pool of threads running the requests.
+     */
+    Session(final InputStream input, final OutputStream output, final DomainCache cache,
+            final ExecutorService pool) {
+        this.input = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.output = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        this.cache = cache;
+        this.pool = pool;
+        this.requests = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Reads and serves the requests until the end of the input stream or a quit request, then waits
+     * for the requests still queued or running.
+     */
+    @Override
+    public void run() {
+        final List<Future<?>> futures = new ArrayList<>();
+        try {
+            String line;
+            while ((line = this.input.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                final String[] words = line.split("\\s+");
+                if ("quit".equals(words[0])) {
+                    break;
+                } else if ("solve".equals(words[0]) && words.length >= 5) {
+                    final Request request = new Request(words);
+                    if (this.requests.putIfAbsent(request.id, request) != null) {
+                        this.write("error duplicate request " + request.id);
+                    } else {
+                        this.write("queued " + request.id);
+                        futures.add(this.pool.submit(request));
+                    }
+                } else if ("cancel".equals(words[0]) && words.length == 2) {
+                    final Request request = this.requests.get(words[1]);
+                    if (request == null) {
+                        this.write("error unknown request " + words[1]);
+                    } else {
+                        request.cancel();
+                    }
+                } else if ("status".equals(words[0])) {
+                    this.write("status " + this.requests.size() + " " + this.cache.getHits() + " "
+                            + this.cache.getMisses());
+                } else {
+                    this.write("error invalid request: " + line);
+                }
+            }
+        } catch (IOException e) {
+            // The client is gone: its requests are of no use anymore
+            this.requests.values().forEach(Request::cancel);
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (Exception e) {
+                // The errors of the requests are answered by the requests themselves
+            }
+        }
+        this.output.close();
+    }
+
+    /**
+     * Writes an answer line.
+     *
+     * @param line the answer.
+     */
+    private synchronized void write(final String line) {
+        this.output.println(line);
+        this.output.flush();
+    }
+
+    /**
+     * Writes the lines of an answer at once, so that they are not interleaved with the answers of
+     * the other requests.
+     *
+     * @param lines the lines of the answer.
+     */
+    private synchronized void write(final List<String> lines) {
+        for (String line : lines) {
+            this.output.println(line);
+        }
+        this.output.flush();
+    }
+
+    /**
+     * Cancels the search of a planner: an ASP planner interrupts its search and a SAT planner stops
+     * its solver.
+     *
+     * @param planner the planner.
+     */
+    private static void cancel(final Planner planner) {
+        if (planner instanceof ASP) {
+            ((ASP) planner).cancel();
+        } else if (planner instanceof SATPlanner) {
+            ((SATPlanner) planner).cancel();
+        }
+    }
+
+    /**
+     * This class implements a solve request.
+     */
+    private final class Request implements Runnable {
+
+        /**
+         * The identifier of the request.
+         */
+        private final String id;
+
+        /**
+         * The words of the request.
+         */
+        private final String[] words;
+
+        /**
+         * The thread running the request or null if the request is not running.
+         */
+        private Thread thread;
+
+        /**
+         * The planner of the request or null if the planner is not created yet.
+         */
+        private Planner planner;
+
+        /**
+         * Whether the request was cancelled.
+         */
+        private boolean cancelled;
+
+        /**
+         * Whether the request is done.
+         */
+        private boolean done;
+
+        /**
+         * Creates a new request.
+         *
+         * @param words the words of the request.
+         */
+        private Request(final String[] words) {
+            this.id = words[1];
+            this.words = words;
+        }
+
+        /**
+         * Grounds the problem of the request, searches a plan and writes the answer.
+         */
+        @Override
+        public void run() {
+            if (!this.start()) {
+                return;
+            }
+            List<String> answer;
+            try {
+                answer = this.solve();
+            } catch (IOException | RuntimeException e) {
+                answer = List.of("done " + this.id + " error " + e.getMessage());
+            } finally {
+                this.finish();
+                // The interruption, if any, must not leak to the next request of the thread
+                Thread.interrupted();
+            }
+            Session.this.requests.remove(this.id);
+            Session.this.write(answer);
+        }
+
+        /**
+         * Grounds the problem of the request and searches a plan.
+         *
+         * @return the lines of the answer.
+         * @throws IOException              if a file cannot be read.
+         * @throws IllegalArgumentException if the request is invalid.
+         */
+        private List<String> solve() throws IOException {
+            final String kind = this.words[2];
+            final List<String> args = new ArrayList<>(Arrays.asList("-o", this.words[3], "-f", this.words[4]));
+            if ("sat".equals(kind)) {
+                args.add("-q");
+            }
+            args.addAll(Arrays.asList(this.words).subList(5, this.words.length));
+            final String[] array = args.toArray(new String[0]);
+            final Properties arguments;
+            if ("asp".equals(kind)) {
+                arguments = ASP.parseCommandLine(array);
+            } else if ("sat".equals(kind)) {
+                arguments = SATPlanner.parseCommandLine(array);
+            } else {
+                throw new IllegalArgumentException("unknown planner " + kind);
+            }
+            if (arguments == null) {
+                throw new IllegalArgumentException("invalid options");
+            }
+            final Planner planner = "asp".equals(kind) ? new ASP(arguments) : new SATPlanner(arguments);
+            this.setPlanner(planner);
+
+            long begin = System.currentTimeMillis();
+            final CodedProblem problem = Session.this.cache.ground(new File(this.words[3]), new File(this.words[4]));
+            final long grounding = System.currentTimeMillis() - begin;
+            begin = System.currentTimeMillis();
+            final Plan plan = problem.isSolvable() ? planner.search(problem) : null;
+            final long search = System.currentTimeMillis() - begin;
+
+            final List<String> answer = new ArrayList<>();
+            final String status;
+            if (plan != null) {
+                for (String action : problem.toString(plan).split("\\R")) {
+                    if (!action.trim().isEmpty()) {
+                        answer.add("plan " + this.id + " " + action.trim());
+                    }
+                }
+                status = "solved";
+            } else {
+                status = this.isCancelled() ? "cancelled" : "unsolved";
+            }
+            answer.add("done " + this.id + " " + status + " " + (plan == null ? -1 : plan.size()) + " "
+                    + grounding + " " + search);
+            return answer;
+        }
+
+        /**
+         * Marks the request as running in the current thread.
+         *
+         * @return <code>false</code> if the request was cancelled before it started.
+         */
+        private synchronized boolean start() {
+            if (this.cancelled) {
+                return false;
+            }
+            this.thread = Thread.currentThread();
+            return true;
+        }
+
+        /**
+         * Sets the planner of the request. The planner is cancelled at once if the request was
+         * cancelled before.
+         *
+         * @param planner the planner.
+         */
+        private synchronized void setPlanner(final Planner planner) {
+            this.planner = planner;
+            if (this.cancelled) {
+                Session.cancel(planner);
+            }
+        }
+
+        /**
+         * Marks the request as done.
+         */
+        private synchronized void finish() {
+            this.thread = null;
+            this.planner = null;
+            this.done = true;
+        }
+
+        /**
+         * Returns whether the request was cancelled.
+         *
+         * @return <code>true</code> if the request was cancelled; <code>false</code> otherwise.
+         */
+        private synchronized boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        /**
+         * Cancels the request. The planner of a running request is cancelled and its thread
+         * interrupted, and the request answers when its planner stops; a queued request answers at
+         * once.
+         */
+        private synchronized void cancel() {
+            if (this.cancelled || this.done) {
+                return;
+            }
+            this.cancelled = true;
+            if (this.thread != null) {
+                if (this.planner != null) {
+                    Session.cancel(this.planner);
+                }
+                this.thread.interrupt();
+            } else {
+                Session.this.requests.remove(this.id);
+                Session.this.write("done " + this.id + " cancelled -1 0 0");
+            }
+        }
+    }
+}